@@ -0,0 +1,236 @@
+package com.questgamification.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Turns evictions on clustered caches into messages for the other nodes and applies theirs locally. Messages
+// go out after the surrounding transaction commits, so a node that reloads on receipt reads the new data.
+// Other components can relay their own small messages over the same transport through named topics.
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    private static final String SEPARATOR = "\n";
+    private static final String KEY_SEPARATOR = "\t";
+    private static final String ALL_KEYS = "*";
+    private static final String INVALIDATION_TOPIC = "cache.invalidations";
+    // NOTIFY payloads are capped at 8000 bytes; anything near that becomes a whole-cache clear instead
+    private static final int MAX_PAYLOAD_BYTES = 7500;
+
+    private final CacheInvalidationTransport transport;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, ClusteredCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, Consumer<String>> topics = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(CacheInvalidationTransport transport) {
+        this.transport = transport;
+        topics.put(INVALIDATION_TOPIC, this::onInvalidation);
+        transport.subscribe(this::onMessage, this::onGap);
+    }
+
+    public ClusteredCache clustered(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                    boolean allowNullValues) {
+        ClusteredCache clustered = new ClusteredCache(name, cache, allowNullValues, this);
+        caches.put(name, clustered);
+        return clustered;
+    }
+
+    // Items from other nodes are handed to the listener one at a time; this node's own broadcasts are not
+    public void subscribe(String topic, Consumer<String> onItem) {
+        topics.put(topic, onItem);
+    }
+
+    // Publishes immediately; items must not contain newlines and are packed into as few payloads as fit
+    public void broadcast(String topic, List<String> items) {
+        String header = nodeId + SEPARATOR + topic + SEPARATOR;
+        int headerBytes = header.getBytes(StandardCharsets.UTF_8).length;
+        StringBuilder body = new StringBuilder();
+        int bodyBytes = 0;
+        for (String item : items) {
+            int itemBytes = item.getBytes(StandardCharsets.UTF_8).length;
+            if (headerBytes + itemBytes > MAX_PAYLOAD_BYTES) {
+                logger.warn("Dropping {} item of {} bytes: too large for one message", topic, itemBytes);
+                continue;
+            }
+            if (bodyBytes > 0 && headerBytes + bodyBytes + 1 + itemBytes > MAX_PAYLOAD_BYTES) {
+                transport.publish(header + body);
+                body.setLength(0);
+                bodyBytes = 0;
+            }
+            if (bodyBytes > 0) {
+                body.append(SEPARATOR);
+                bodyBytes++;
+            }
+            body.append(item);
+            bodyBytes += itemBytes;
+        }
+        if (bodyBytes > 0) {
+            transport.publish(header + body);
+        }
+    }
+
+    void evicted(ClusteredCache cache, Object key) {
+        String encodedKey = encodeKey(key);
+        String item = cache.getName() + KEY_SEPARATOR + (encodedKey != null ? encodedKey : ALL_KEYS);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(List.of(item));
+            return;
+        }
+        PendingInvalidations pending = pendingForCurrentTransaction();
+        pending.evictedKeys.computeIfAbsent(cache, c -> new LinkedHashSet<>()).add(key);
+        pending.items.add(item);
+    }
+
+    void cleared(ClusteredCache cache) {
+        String item = cache.getName() + KEY_SEPARATOR + ALL_KEYS;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(List.of(item));
+            return;
+        }
+        PendingInvalidations pending = pendingForCurrentTransaction();
+        pending.clearedCaches.add(cache);
+        pending.items.add(item);
+    }
+
+    void onMessage(String payload) {
+        String[] parts = payload.split(SEPARATOR, 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        Consumer<String> topicListener = topics.get(parts[1]);
+        if (topicListener == null) {
+            return;
+        }
+        for (String item : parts[2].split(SEPARATOR)) {
+            topicListener.accept(item);
+        }
+    }
+
+    void onGap() {
+        logger.info("Cache invalidations may have been missed; clearing {} clustered caches", caches.size());
+        caches.values().forEach(ClusteredCache::clearLocally);
+    }
+
+    private void onInvalidation(String item) {
+        String[] parts = item.split(KEY_SEPARATOR, 2);
+        ClusteredCache cache = caches.get(parts[0]);
+        if (cache == null || parts.length < 2) {
+            return;
+        }
+        Object key = ALL_KEYS.equals(parts[1]) ? null : decodeKey(parts[1]);
+        if (key == null) {
+            cache.clearLocally();
+        } else {
+            cache.evictLocally(key);
+        }
+    }
+
+    // A commit's invalidations travel as one payload; if they do not fit, the caches they touch are cleared instead
+    private void publish(Collection<String> items) {
+        int bytes = (nodeId + SEPARATOR + INVALIDATION_TOPIC + SEPARATOR + String.join(SEPARATOR, items))
+            .getBytes(StandardCharsets.UTF_8).length;
+        if (bytes > MAX_PAYLOAD_BYTES) {
+            Set<String> cacheNames = new LinkedHashSet<>();
+            items.forEach(item -> cacheNames.add(item.substring(0, item.indexOf(KEY_SEPARATOR))));
+            logger.debug("{} invalidations exceed one message; clearing caches {} instead", items.size(), cacheNames);
+            items = cacheNames.stream().map(name -> name + KEY_SEPARATOR + ALL_KEYS).toList();
+        }
+        broadcast(INVALIDATION_TOPIC, new ArrayList<>(items));
+    }
+
+    private PendingInvalidations pendingForCurrentTransaction() {
+        PendingInvalidations pending = (PendingInvalidations) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingInvalidations();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    // Keys must come back as the same type the cache stored them under; unknown types fall back to a clear
+    static String encodeKey(Object key) {
+        if (key instanceof UUID uuid) {
+            return "u:" + uuid;
+        }
+        // Newlines and tabs separate payload fields, so such keys fall back to a clear
+        if (key instanceof String string) {
+            return string.contains(SEPARATOR) || string.contains(KEY_SEPARATOR) ? null : "s:" + string;
+        }
+        if (key instanceof Integer integer) {
+            return "i:" + integer;
+        }
+        if (key instanceof Long number) {
+            return "l:" + number;
+        }
+        if (key instanceof Enum<?> constant) {
+            return "e:" + constant.getDeclaringClass().getName() + ":" + constant.name();
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object decodeKey(String encoded) {
+        String value = encoded.length() > 2 ? encoded.substring(2) : "";
+        try {
+            switch (encoded.substring(0, Math.min(2, encoded.length()))) {
+                case "u:":
+                    return UUID.fromString(value);
+                case "s:":
+                    return value;
+                case "i:":
+                    return Integer.valueOf(value);
+                case "l:":
+                    return Long.valueOf(value);
+                case "e:":
+                    int split = value.lastIndexOf(':');
+                    Class<? extends Enum> type = (Class<? extends Enum>) Class.forName(value.substring(0, split));
+                    return Enum.valueOf(type, value.substring(split + 1));
+                default:
+                    return null;
+            }
+        } catch (RuntimeException | ClassNotFoundException e) {
+            logger.debug("Unreadable cache key '{}', clearing the cache instead", encoded);
+            return null;
+        }
+    }
+
+    // Evicting again after commit closes the window where a concurrent reader on this node re-cached the old row
+    private final class PendingInvalidations implements TransactionSynchronization {
+
+        private final Map<ClusteredCache, Set<Object>> evictedKeys = new LinkedHashMap<>();
+        private final Set<ClusteredCache> clearedCaches = new LinkedHashSet<>();
+        private final Set<String> items = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            clearedCaches.forEach(ClusteredCache::clearLocally);
+            evictedKeys.forEach((cache, keys) -> {
+                if (!clearedCaches.contains(cache)) {
+                    keys.forEach(cache::evictLocally);
+                }
+            });
+            publish(items);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+        }
+    }
+}
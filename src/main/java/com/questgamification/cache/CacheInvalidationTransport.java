@@ -0,0 +1,12 @@
+package com.questgamification.cache;
+
+import java.util.function.Consumer;
+
+// Carries invalidation payloads between nodes. Delivery is best effort, so a transport that may have lost
+// messages (e.g. after a reconnect) reports a gap and every node-local copy is dropped.
+public interface CacheInvalidationTransport {
+
+    void publish(String payload);
+
+    void subscribe(Consumer<String> onMessage, Runnable onGap);
+}
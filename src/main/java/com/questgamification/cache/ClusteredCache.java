@@ -0,0 +1,52 @@
+package com.questgamification.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+// Node-local Caffeine cache whose evictions are broadcast to the other nodes. Still a CaffeineCache, so the
+// actuator's cache metrics bind to it like any other cache.
+public class ClusteredCache extends CaffeineCache {
+
+    private final CacheInvalidationBus invalidationBus;
+
+    public ClusteredCache(String name, Cache<Object, Object> cache, boolean allowNullValues,
+                          CacheInvalidationBus invalidationBus) {
+        super(name, cache, allowNullValues);
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        invalidationBus.evicted(this, key);
+    }
+
+    // Broadcast even when absent here: other nodes may still hold the key
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = super.evictIfPresent(key);
+        invalidationBus.evicted(this, key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        invalidationBus.cleared(this);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = super.invalidate();
+        invalidationBus.cleared(this);
+        return notEmpty;
+    }
+
+    void evictLocally(Object key) {
+        super.evict(key);
+    }
+
+    void clearLocally() {
+        super.clear();
+    }
+}
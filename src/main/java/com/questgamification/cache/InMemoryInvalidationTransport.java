@@ -0,0 +1,26 @@
+package com.questgamification.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Single-node and test transport: delivers synchronously to every bus sharing this instance
+@Component
+@ConditionalOnProperty(name = "quest.cache.invalidation.transport", havingValue = "local", matchIfMissing = true)
+public class InMemoryInvalidationTransport implements CacheInvalidationTransport {
+
+    private final List<Consumer<String>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String payload) {
+        subscribers.forEach(subscriber -> subscriber.accept(payload));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> onMessage, Runnable onGap) {
+        subscribers.add(onMessage);
+    }
+}
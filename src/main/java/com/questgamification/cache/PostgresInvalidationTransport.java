@@ -0,0 +1,145 @@
+package com.questgamification.cache;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// LISTEN/NOTIFY over the database every node already shares. Publishing borrows a pooled connection; listening
+// holds one dedicated connection outside the pool so pool housekeeping never recycles it and opens a gap.
+@Component
+@ConditionalOnProperty(name = "quest.cache.invalidation.transport", havingValue = "postgres")
+public class PostgresInvalidationTransport implements CacheInvalidationTransport, SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresInvalidationTransport.class);
+
+    private final DataSource dataSource;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final List<Consumer<String>> messageListeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> gapListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresInvalidationTransport(DataSource dataSource, DataSourceProperties dataSourceProperties,
+                                         @Value("${quest.cache.invalidation.channel:quest_cache_invalidation}") String channel,
+                                         @Value("${quest.cache.invalidation.poll-timeout:500ms}") Duration pollTimeout,
+                                         @Value("${quest.cache.invalidation.reconnect-delay:1s}") Duration reconnectDelay) {
+        this.dataSource = dataSource;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    // Uses its own autocommit connection: NOTIFY is only delivered on commit, and callers publish after theirs
+    @Override
+    public void publish(String payload) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, payload);
+            statement.execute();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            // Remote copies then live until their TTL; nothing else to do from here
+            logger.warn("Failed to publish cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> onMessage, Runnable onGap) {
+        messageListeners.add(onMessage);
+        gapListeners.add(onGap);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Anything published while we were not listening is lost, so drop every local copy
+                gapListeners.forEach(Runnable::run);
+                logger.info("Listening for cache invalidations on channel {}", channel);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    logger.warn("Cache invalidation listener lost its connection, reconnecting: {}", e.getMessage());
+                    sleepQuietly(reconnectDelay.toMillis());
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        for (Consumer<String> messageListener : messageListeners) {
+            try {
+                messageListener.accept(payload);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to apply cache invalidation '{}': {}", payload, e.getMessage());
+            }
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
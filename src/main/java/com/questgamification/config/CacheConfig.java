@@ -1,27 +1,48 @@
 package com.questgamification.config;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.questgamification.cache.CacheInvalidationBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Set;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    @Bean
-    public Caffeine<Object, Object> caffeineConfig() {
-        return Caffeine.newBuilder()
-                .maximumSize(1000)
-                .recordStats();
-    }
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
 
+    // Every configured cache is registered up front so the actuator binds its metrics at startup;
+    // caches created on demand for unlisted names get the defaults but no metrics
     @Bean
-    public CacheManager cacheManager(Caffeine<Object, Object> caffeine) {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(caffeine);
+    public CacheManager cacheManager(CachePolicyProperties cachePolicies, CacheInvalidationBus invalidationBus,
+                                     @Value("${quest.cache.invalidation.caches:users,quests,stats}") Set<String> clusteredCaches) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            // Clustered caches stay local Caffeine instances; only their evictions travel between nodes
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                if (clusteredCaches.contains(name)) {
+                    return invalidationBus.clustered(name, cache, isAllowNullValues());
+                }
+                return super.adaptCaffeineCache(name, cache);
+            }
+        };
+        cacheManager.setCaffeine(cachePolicies.builderFor(""));
+        cachePolicies.getSpecs().keySet().forEach(name -> {
+            // Refreshing needs a loader, which only caches owned by a service have (e.g. analytics)
+            if (cachePolicies.hasRefresh(name)) {
+                logger.debug("Cache '{}' has a refresh policy and is built by its owning service", name);
+                return;
+            }
+            cacheManager.registerCustomCache(name, cachePolicies.builderFor(name).build());
+        });
         return cacheManager;
     }
 }
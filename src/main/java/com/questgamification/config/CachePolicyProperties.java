@@ -0,0 +1,135 @@
+package com.questgamification.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Named Caffeine policies under quest.cache.specs; a setting left out of a named spec falls back to quest.cache.defaults.
+// Expiry is inherited as a whole: a spec that sets either expiry gets only its own, never a default one on top.
+@Component
+@ConfigurationProperties(prefix = "quest.cache")
+public class CachePolicyProperties {
+
+    private Spec defaults = Spec.withMaximumSize(1000L);
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    public Caffeine<Object, Object> builderFor(String cacheName) {
+        Spec spec = specs.getOrDefault(cacheName, new Spec());
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+
+        Long maximumWeight = spec.maximumWeight;
+        Long maximumSize = maximumWeight == null ? firstNonNull(spec.maximumSize, defaults.maximumSize) : null;
+        if (maximumWeight != null) {
+            builder.maximumWeight(maximumWeight).weigher(CachePolicyProperties::weigh);
+        } else if (maximumSize != null) {
+            builder.maximumSize(maximumSize);
+        }
+        Spec expiry = spec.expireAfterWrite != null || spec.expireAfterAccess != null ? spec : defaults;
+        if (expiry.expireAfterWrite != null) {
+            builder.expireAfterWrite(expiry.expireAfterWrite);
+        }
+        if (expiry.expireAfterAccess != null) {
+            builder.expireAfterAccess(expiry.expireAfterAccess);
+        }
+        if (spec.refreshAfterWrite != null) {
+            builder.refreshAfterWrite(spec.refreshAfterWrite);
+        }
+        return builder;
+    }
+
+    public boolean hasRefresh(String cacheName) {
+        Spec spec = specs.get(cacheName);
+        return spec != null && spec.refreshAfterWrite != null;
+    }
+
+    // Weight approximates entry size by element count, so one cached quest list costs as much as its quests
+    static int weigh(Object key, Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Math.max(1, map.size());
+        }
+        return 1;
+    }
+
+    private static <T> T firstNonNull(T value, T fallback) {
+        return value != null ? value : fallback;
+    }
+
+    public Spec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Spec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Spec> getSpecs() {
+        return specs;
+    }
+
+    public void setSpecs(Map<String, Spec> specs) {
+        this.specs = specs;
+    }
+
+    public static class Spec {
+
+        private Long maximumSize;
+        private Long maximumWeight;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private Duration refreshAfterWrite;
+
+        static Spec withMaximumSize(Long maximumSize) {
+            Spec spec = new Spec();
+            spec.setMaximumSize(maximumSize);
+            return spec;
+        }
+
+        public Long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(Long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(Long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+
+        public Duration getRefreshAfterWrite() {
+            return refreshAfterWrite;
+        }
+
+        public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+    }
+}
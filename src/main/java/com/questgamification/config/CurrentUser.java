@@ -0,0 +1,17 @@
+package com.questgamification.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Binds a UserView handler parameter to the signed-in user, resolved once per request
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+
+    // When false, anonymous requests or unknown users bind null instead of failing
+    boolean required() default true;
+}
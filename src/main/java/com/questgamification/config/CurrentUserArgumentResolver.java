@@ -0,0 +1,78 @@
+package com.questgamification.config;
+
+import com.questgamification.domain.dto.UserView;
+import com.questgamification.service.UserService;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Optional;
+
+// Resolves the signed-in user at most once per request: the first caller (usually GlobalModelAttribute) reads the
+// username-keyed users cache, which login already populated, and every later caller in the same request reuses that
+// snapshot from a request attribute. A request therefore costs no user query unless the cache entry was evicted.
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    static final String REQUEST_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".user";
+
+    private final UserService userService;
+
+    public CurrentUserArgumentResolver(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class) && UserView.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Optional<UserView> user = resolve(webRequest);
+        CurrentUser annotation = parameter.getParameterAnnotation(CurrentUser.class);
+        if (user.isEmpty() && annotation != null && annotation.required()) {
+            throw new IllegalArgumentException("User not found");
+        }
+        return user.orElse(null);
+    }
+
+    public Optional<UserView> currentUser() {
+        return resolve(RequestContextHolder.getRequestAttributes());
+    }
+
+    private Optional<UserView> resolve(RequestAttributes request) {
+        String username = authenticatedUsername();
+        if (username == null) {
+            return Optional.empty();
+        }
+        if (request != null && request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof UserView cached
+                && username.equals(cached.getUsername())) {
+            return Optional.of(cached);
+        }
+        Optional<UserView> user = userService.findViewByUsername(username);
+        if (request != null) {
+            user.ifPresent(view -> request.setAttribute(REQUEST_ATTRIBUTE, view, RequestAttributes.SCOPE_REQUEST));
+        }
+        return user;
+    }
+
+    private static String authenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        String username = authentication.getName();
+        return username == null || username.isEmpty() ? null : username;
+    }
+}
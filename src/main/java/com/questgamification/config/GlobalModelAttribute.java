@@ -1,10 +1,6 @@
 package com.questgamification.config;
 
-import com.questgamification.domain.entity.User;
 import com.questgamification.service.NotificationService;
-import com.questgamification.service.UserService;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
@@ -12,36 +8,21 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 public class GlobalModelAttribute {
 
     private final NotificationService notificationService;
-    private final UserService userService;
+    private final CurrentUserArgumentResolver currentUserResolver;
 
-    public GlobalModelAttribute(NotificationService notificationService, UserService userService) {
+    public GlobalModelAttribute(NotificationService notificationService, CurrentUserArgumentResolver currentUserResolver) {
         this.notificationService = notificationService;
-        this.userService = userService;
+        this.currentUserResolver = currentUserResolver;
     }
 
     @ModelAttribute("unreadNotificationsCount")
     public long addNotificationCount() {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated() || 
-                "anonymousUser".equals(authentication.getName())) {
-                return 0L;
-            }
-            
-            String username = authentication.getName();
-            if (username == null || username.isEmpty()) {
-                return 0L;
-            }
-            
-            User user = userService.findByUsername(username).orElse(null);
-            if (user == null) {
-                return 0L;
-            }
-            
-            return notificationService.getUnreadCount(user);
+            return currentUserResolver.currentUser()
+                .map(user -> notificationService.getUnreadCount(user.getId()))
+                .orElse(0L);
         } catch (Exception e) {
             return 0L;
         }
     }
 }
-
@@ -0,0 +1,82 @@
+package com.questgamification.config;
+
+import com.questgamification.domain.entity.NotificationType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "quest.notifications.retention")
+public class NotificationRetentionProperties {
+
+    private boolean enabled = true;
+    private Duration defaultTtl = Duration.ofDays(365);
+    private Map<NotificationType, Duration> ttl = new EnumMap<>(NotificationType.class);
+    private boolean archive = false;
+    private int batchSize = 500;
+    private Duration pauseBetweenBatches = Duration.ofMillis(200);
+    private Duration maxRuntime = Duration.ofMinutes(30);
+
+    public Duration ttlFor(NotificationType type) {
+        return ttl.getOrDefault(type, defaultTtl);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    public void setDefaultTtl(Duration defaultTtl) {
+        this.defaultTtl = defaultTtl;
+    }
+
+    public Map<NotificationType, Duration> getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Map<NotificationType, Duration> ttl) {
+        this.ttl = ttl;
+    }
+
+    public boolean isArchive() {
+        return archive;
+    }
+
+    public void setArchive(boolean archive) {
+        this.archive = archive;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getPauseBetweenBatches() {
+        return pauseBetweenBatches;
+    }
+
+    public void setPauseBetweenBatches(Duration pauseBetweenBatches) {
+        this.pauseBetweenBatches = pauseBetweenBatches;
+    }
+
+    public Duration getMaxRuntime() {
+        return maxRuntime;
+    }
+
+    public void setMaxRuntime(Duration maxRuntime) {
+        this.maxRuntime = maxRuntime;
+    }
+}
@@ -1,7 +1,12 @@
 package com.questgamification.config;
 
+import com.questgamification.domain.dto.UserView;
 import com.questgamification.domain.entity.User;
 import com.questgamification.repository.UserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,9 +22,11 @@ import java.util.stream.Collectors;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, CacheManager cacheManager) {
         this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
     }
 
     @Override
@@ -34,15 +41,20 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         
         user.getRoles().size();
 
-        return org.springframework.security.core.userdetails.User.builder()
-            .username(user.getUsername())
-            .password(user.getPassword())
-            .authorities(getAuthorities(user))
-            .accountExpired(false)
-            .accountLocked(false)
-            .credentialsExpired(false)
-            .disabled(false)
-            .build();
+        return new AuthenticatedUser(user.getUsername(), user.getPassword(), getAuthorities(user), UserView.from(user));
+    }
+
+    // The row loaded to check the password seeds the users cache, so the first page after login needs no user query.
+    // Only successful logins get here; failed attempts never put anything in the cache.
+    @EventListener
+    public void onAuthenticationSuccess(AuthenticationSuccessEvent event) {
+        if (!(event.getAuthentication().getPrincipal() instanceof AuthenticatedUser principal) || principal.view == null) {
+            return;
+        }
+        Cache users = cacheManager.getCache("users");
+        if (users != null) {
+            users.put(principal.getUsername(), principal.view);
+        }
     }
 
     private Collection<? extends GrantedAuthority> getAuthorities(User user) {
@@ -50,5 +62,15 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             .map(role -> new SimpleGrantedAuthority("ROLE_" + role.name()))
             .collect(Collectors.toList());
     }
-}
 
+    // The snapshot only rides along to the success event; it is transient so the session never carries stale XP or roles
+    static final class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+
+        private final transient UserView view;
+
+        AuthenticatedUser(String username, String password, Collection<? extends GrantedAuthority> authorities, UserView view) {
+            super(username, password, true, true, true, true, authorities);
+            this.view = view;
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package com.questgamification.controller;
 
+import com.questgamification.domain.dto.AdminQuestRow;
+import com.questgamification.domain.dto.AdminUserRow;
+import com.questgamification.domain.dto.KeysetPage;
 import com.questgamification.domain.dto.RewardCreateDto;
-import com.questgamification.domain.entity.Quest;
 import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.domain.entity.QuestType;
 import com.questgamification.domain.entity.Reward;
 import com.questgamification.domain.entity.Role;
-import com.questgamification.domain.entity.User;
-import com.questgamification.repository.AchievementRepository;
-import com.questgamification.repository.QuestRepository;
-import com.questgamification.repository.RewardRepository;
+import com.questgamification.service.AdminListingService;
+import com.questgamification.service.AdminStatsService;
+import com.questgamification.service.QuestService;
 import com.questgamification.service.RewardService;
 import com.questgamification.service.UserService;
+import com.questgamification.service.UserStatsService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,9 +23,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 @Controller
@@ -31,53 +32,39 @@ public class AdminController {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
     private final UserService userService;
-    private final QuestRepository questRepository;
-    private final RewardRepository rewardRepository;
+    private final QuestService questService;
     private final RewardService rewardService;
-    private final AchievementRepository achievementRepository;
+    private final UserStatsService userStatsService;
+    private final AdminStatsService adminStatsService;
+    private final AdminListingService adminListingService;
 
-    public AdminController(UserService userService, QuestRepository questRepository,
-                          RewardRepository rewardRepository, RewardService rewardService,
-                          AchievementRepository achievementRepository) {
+    public AdminController(UserService userService, QuestService questService,
+                          RewardService rewardService, UserStatsService userStatsService,
+                          AdminStatsService adminStatsService, AdminListingService adminListingService) {
         this.userService = userService;
-        this.questRepository = questRepository;
-        this.rewardRepository = rewardRepository;
+        this.questService = questService;
         this.rewardService = rewardService;
-        this.achievementRepository = achievementRepository;
+        this.userStatsService = userStatsService;
+        this.adminStatsService = adminStatsService;
+        this.adminListingService = adminListingService;
     }
 
     @GetMapping
     public String adminDashboard(Model model) {
         logger.info("Admin dashboard accessed");
-        
-        long totalUsers = userService.findAll().size();
-        long totalQuests = questRepository.count();
-        long totalRewards = rewardRepository.count();
-        long totalAchievements = achievementRepository.count();
-        
-        List<Quest> allQuests = questRepository.findAll();
-        long activeQuests = allQuests.stream().filter(q -> q.getStatus() == QuestStatus.ACTIVE).count();
-        long completedQuests = allQuests.stream().filter(q -> q.getStatus() == QuestStatus.COMPLETED).count();
-        long expiredQuests = allQuests.stream().filter(q -> q.getStatus() == QuestStatus.EXPIRED).count();
-        
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalUsers", totalUsers);
-        stats.put("totalQuests", totalQuests);
-        stats.put("activeQuests", activeQuests);
-        stats.put("completedQuests", completedQuests);
-        stats.put("expiredQuests", expiredQuests);
-        stats.put("totalRewards", totalRewards);
-        stats.put("totalAchievements", totalAchievements);
-        
-        model.addAttribute("stats", stats);
+        model.addAttribute("stats", adminStatsService.getOverview());
         return "admin-dashboard";
     }
 
     @GetMapping("/users")
-    public String manageUsers(Model model) {
+    public String manageUsers(@RequestParam(value = "username", required = false) String username,
+                              @RequestParam(value = "after", required = false) String after,
+                              Model model) {
         logger.info("Admin accessing user management");
-        List<User> users = userService.findAll();
-        model.addAttribute("users", users);
+        KeysetPage<AdminUserRow> page = adminListingService.findUsers(username, after);
+        model.addAttribute("users", page.getItems());
+        model.addAttribute("page", page);
+        model.addAttribute("username", username);
         return "admin-users";
     }
 
@@ -98,20 +85,28 @@ public class AdminController {
     }
 
     @GetMapping("/quests")
-    public String manageQuests(Model model) {
+    public String manageQuests(@RequestParam(value = "status", required = false) QuestStatus status,
+                               @RequestParam(value = "type", required = false) QuestType type,
+                               @RequestParam(value = "username", required = false) String username,
+                               @RequestParam(value = "sort", defaultValue = AdminListingService.SORT_END_DATE) String sort,
+                               @RequestParam(value = "afterKey", required = false) String afterKey,
+                               @RequestParam(value = "afterId", required = false) UUID afterId,
+                               Model model) {
         logger.info("Admin accessing quest management");
-        List<Quest> allQuests = questRepository.findAll();
-        model.addAttribute("quests", allQuests);
+        KeysetPage<AdminQuestRow> page = adminListingService.findQuests(status, type, username, sort, afterKey, afterId);
+        model.addAttribute("quests", page.getItems());
+        model.addAttribute("page", page);
+        model.addAttribute("status", status);
+        model.addAttribute("type", type);
+        model.addAttribute("username", username);
+        model.addAttribute("sort", sort);
         return "admin-quests";
     }
 
     @PostMapping("/quests/{id}/delete")
     public String deleteQuest(@PathVariable UUID id, RedirectAttributes redirectAttributes) {
         try {
-            logger.info("Admin deleting quest {}", id);
-            Quest quest = questRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Quest not found"));
-            questRepository.delete(quest);
+            questService.deleteQuestAsAdmin(id);
             redirectAttributes.addFlashAttribute("success", "Quest deleted successfully!");
             return "redirect:/admin/quests";
         } catch (IllegalArgumentException e) {
@@ -121,6 +116,14 @@ public class AdminController {
         }
     }
 
+    @PostMapping("/stats/rebuild")
+    public String rebuildUserStats(RedirectAttributes redirectAttributes) {
+        logger.info("Admin rebuilding user stats projection");
+        int rebuilt = userStatsService.rebuildAll();
+        redirectAttributes.addFlashAttribute("success", "Stats rebuilt for " + rebuilt + " users.");
+        return "redirect:/admin";
+    }
+
     @GetMapping("/rewards")
     public String manageRewards(Model model) {
         logger.info("Admin accessing reward management");
@@ -1,11 +1,11 @@
 package com.questgamification.controller;
 
+import com.questgamification.config.CurrentUser;
+import com.questgamification.domain.dto.QuestView;
+import com.questgamification.domain.dto.UserView;
 import com.questgamification.domain.entity.QuestStatus;
-import com.questgamification.domain.entity.User;
 import com.questgamification.service.QuestService;
 import com.questgamification.service.StatsService;
-import com.questgamification.service.UserService;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,23 +16,18 @@ import java.util.Map;
 @Controller
 public class DashboardController {
 
-    private final UserService userService;
     private final QuestService questService;
     private final StatsService statsService;
 
-    public DashboardController(UserService userService, QuestService questService, StatsService statsService) {
-        this.userService = userService;
+    public DashboardController(QuestService questService, StatsService statsService) {
         this.questService = questService;
         this.statsService = statsService;
     }
 
     @GetMapping("/dashboard")
-    public String dashboard(Model model, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName())
-            .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        
-        List<com.questgamification.domain.entity.Quest> activeQuests = questService.findByUserAndStatus(user, QuestStatus.ACTIVE);
-        List<com.questgamification.domain.entity.Quest> readyForCheckIn = questService.getQuestsReadyForCheckIn(user);
+    public String dashboard(Model model, @CurrentUser UserView user) {
+        List<QuestView> activeQuests = questService.findByUserAndStatus(user.getId(), QuestStatus.ACTIVE);
+        List<QuestView> readyForCheckIn = questService.getQuestsReadyForCheckIn(user.getId(), activeQuests);
         Map<String, Object> stats = statsService.getUserStats(user);
         
         model.addAttribute("user", user);
@@ -1,19 +1,24 @@
 package com.questgamification.controller;
 
-import com.questgamification.domain.entity.Notification;
+import com.questgamification.config.CurrentUser;
+import com.questgamification.domain.dto.KeysetPage;
+import com.questgamification.domain.dto.NotificationView;
+import com.questgamification.domain.dto.UserView;
 import com.questgamification.domain.entity.User;
 import com.questgamification.service.NotificationService;
 import com.questgamification.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.List;
 import java.util.UUID;
 
 @Controller
@@ -30,7 +35,9 @@ public class NotificationController {
     }
 
     @GetMapping
-    public String notifications(Model model, Authentication authentication) {
+    public String notifications(@RequestParam(required = false) String before,
+                                @RequestParam(required = false) UUID beforeId,
+                                Model model, Authentication authentication) {
         try {
             if (authentication == null || !authentication.isAuthenticated()) {
                 logger.warn("Unauthenticated user tried to access notifications");
@@ -46,7 +53,8 @@ public class NotificationController {
             User user = userService.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
             
-            List<Notification> allNotifications = notificationService.getUserNotifications(user);
+            KeysetPage<NotificationView> page = notificationService.getNotificationFeed(user,
+                before != null && !before.isBlank() ? LocalDateTime.parse(before) : null, beforeId);
             
             long unreadCountBefore = notificationService.getUnreadCount(user);
             if (unreadCountBefore > 0) {
@@ -54,12 +62,12 @@ public class NotificationController {
                 logger.info("Auto-marked {} notifications as read for user {}", unreadCountBefore, user.getUsername());
             }
             
-            model.addAttribute("notifications", allNotifications != null ? allNotifications : Collections.emptyList());
+            model.addAttribute("notifications", page.getItems());
+            model.addAttribute("page", page);
             model.addAttribute("unreadCount", 0L);
             
-            logger.info("User {} viewing notifications page. Found {} notifications", 
-                user.getUsername(), 
-                allNotifications != null ? allNotifications.size() : 0);
+            logger.info("User {} viewing notifications page with {} notifications", 
+                user.getUsername(), page.getItems().size());
             return "notifications";
         } catch (IllegalArgumentException e) {
             logger.error("Illegal argument in notifications page: {}", e.getMessage(), e);
@@ -124,19 +132,20 @@ public class NotificationController {
         return "redirect:/notifications";
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter stream(@CurrentUser UserView user) {
+        return notificationService.subscribe(user.getId());
+    }
+
     @GetMapping("/count")
     @ResponseBody
-    public long getUnreadCount(Authentication authentication) {
+    public long getUnreadCount(@CurrentUser(required = false) UserView user) {
         try {
-            if (authentication == null || !authentication.isAuthenticated()) {
-                return 0L;
-            }
-            User user = userService.findByUsername(authentication.getName())
-                .orElse(null);
             if (user == null) {
                 return 0L;
             }
-            return notificationService.getUnreadCount(user);
+            return notificationService.getUnreadCount(user.getId());
         } catch (Exception e) {
             logger.error("Error getting unread count: {}", e.getMessage(), e);
             return 0L;
@@ -1,5 +1,7 @@
 package com.questgamification.controller;
 
+import com.questgamification.config.CurrentUser;
+import com.questgamification.domain.dto.UserView;
 import com.questgamification.domain.entity.User;
 import com.questgamification.service.UserService;
 import org.springframework.security.core.Authentication;
@@ -22,9 +24,7 @@ public class ProfileController {
     }
 
     @GetMapping
-    public String profile(Model model, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName())
-            .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    public String profile(Model model, @CurrentUser UserView user) {
         model.addAttribute("user", user);
         return "profile";
     }
@@ -1,7 +1,10 @@
 package com.questgamification.controller;
 
+import com.questgamification.config.CurrentUser;
 import com.questgamification.domain.dto.QuestCreateDto;
 import com.questgamification.domain.dto.QuestProgressUpdateDto;
+import com.questgamification.domain.dto.QuestView;
+import com.questgamification.domain.dto.UserView;
 import com.questgamification.domain.entity.Quest;
 import com.questgamification.domain.entity.QuestStatus;
 import com.questgamification.domain.entity.User;
@@ -37,9 +40,7 @@ public class QuestController {
     }
 
     @GetMapping("/create")
-    public String createQuestForm(Model model, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName())
-            .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    public String createQuestForm(Model model, @CurrentUser UserView user) {
         model.addAttribute("questCreateDto", new QuestCreateDto());
         model.addAttribute("availableRewards", rewardService.getAvailableRewards(user.getLevel()));
         return "quest-create";
@@ -49,14 +50,12 @@ public class QuestController {
     public String createQuest(@Valid @ModelAttribute QuestCreateDto questCreateDto,
                              BindingResult bindingResult,
                              Authentication authentication,
+                             @CurrentUser(required = false) UserView currentUser,
                              Model model,
                              RedirectAttributes redirectAttributes) {
         if (bindingResult.hasErrors()) {
-            try {
-                User user = userService.findByUsername(authentication.getName())
-                    .orElseThrow(() -> new IllegalArgumentException("User not found"));
-                model.addAttribute("availableRewards", rewardService.getAvailableRewards(user.getLevel()));
-            } catch (Exception e) {
+            if (currentUser != null) {
+                model.addAttribute("availableRewards", rewardService.getAvailableRewards(currentUser.getLevel()));
             }
             return "quest-create";
         }
@@ -74,10 +73,8 @@ public class QuestController {
     }
 
     @GetMapping("/my-quests")
-    public String myQuests(Model model, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName())
-            .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        List<Quest> quests = questService.findByUser(user);
+    public String myQuests(Model model, @CurrentUser UserView user) {
+        List<QuestView> quests = questService.findByUser(user.getId());
         model.addAttribute("quests", quests);
         return "my-quests";
     }
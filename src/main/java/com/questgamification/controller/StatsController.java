@@ -1,11 +1,10 @@
 package com.questgamification.controller;
 
-import com.questgamification.domain.entity.User;
+import com.questgamification.config.CurrentUser;
+import com.questgamification.domain.dto.UserView;
 import com.questgamification.service.StatsService;
-import com.questgamification.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,19 +18,14 @@ public class StatsController {
 
     private static final Logger logger = LoggerFactory.getLogger(StatsController.class);
     private final StatsService statsService;
-    private final UserService userService;
 
-    public StatsController(StatsService statsService, UserService userService) {
+    public StatsController(StatsService statsService) {
         this.statsService = statsService;
-        this.userService = userService;
     }
 
     @GetMapping
-    public String stats(Model model, Authentication authentication) {
+    public String stats(Model model, @CurrentUser UserView user) {
         try {
-            User user = userService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-            
             Map<String, Object> stats = statsService.getUserStats(user);
             Map<String, Object> analytics = statsService.getAnalyticsData(user.getId());
             
@@ -0,0 +1,63 @@
+package com.questgamification.domain.dto;
+
+import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.domain.entity.QuestType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class AdminQuestRow {
+
+    private final UUID id;
+    private final String title;
+    private final String username;
+    private final QuestStatus status;
+    private final QuestType questType;
+    private final Long experienceReward;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public AdminQuestRow(UUID id, String title, String username, QuestStatus status, QuestType questType,
+                         Long experienceReward, LocalDate startDate, LocalDate endDate) {
+        this.id = id;
+        this.title = title;
+        this.username = username;
+        this.status = status;
+        this.questType = questType;
+        this.experienceReward = experienceReward;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public QuestStatus getStatus() {
+        return status;
+    }
+
+    public QuestType getQuestType() {
+        return questType;
+    }
+
+    public Long getExperienceReward() {
+        return experienceReward;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+}
@@ -0,0 +1,49 @@
+package com.questgamification.domain.dto;
+
+import com.questgamification.domain.entity.Role;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+public class AdminUserRow {
+
+    private final UUID id;
+    private final String username;
+    private final String email;
+    private final Integer level;
+    private final Long experiencePoints;
+    private final Set<Role> roles = EnumSet.noneOf(Role.class);
+
+    public AdminUserRow(UUID id, String username, String email, Integer level, Long experiencePoints) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.level = level;
+        this.experiencePoints = experiencePoints;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Integer getLevel() {
+        return level;
+    }
+
+    public Long getExperiencePoints() {
+        return experiencePoints;
+    }
+
+    public Set<Role> getRoles() {
+        return roles;
+    }
+}
@@ -0,0 +1,33 @@
+package com.questgamification.domain.dto;
+
+import java.util.List;
+
+// One page of a seek-paginated listing; nextKey/nextId are null on the last page
+public class KeysetPage<T> {
+
+    private final List<T> items;
+    private final String nextKey;
+    private final String nextId;
+
+    public KeysetPage(List<T> items, String nextKey, String nextId) {
+        this.items = items;
+        this.nextKey = nextKey;
+        this.nextId = nextId;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextKey() {
+        return nextKey;
+    }
+
+    public String getNextId() {
+        return nextId;
+    }
+
+    public boolean hasNext() {
+        return nextKey != null;
+    }
+}
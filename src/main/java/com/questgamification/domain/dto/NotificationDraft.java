@@ -0,0 +1,49 @@
+package com.questgamification.domain.dto;
+
+import com.questgamification.domain.entity.NotificationType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class NotificationDraft {
+
+    private final UUID id;
+    private final UUID userId;
+    private final UUID questId;
+    private final NotificationType type;
+    private final String message;
+    private final LocalDateTime createdAt;
+
+    public NotificationDraft(UUID userId, UUID questId, NotificationType type, String message) {
+        this.id = UUID.randomUUID();
+        this.userId = userId;
+        this.questId = questId;
+        this.type = type;
+        this.message = message;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UUID getQuestId() {
+        return questId;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,56 @@
+package com.questgamification.domain.dto;
+
+import com.questgamification.domain.entity.NotificationType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class NotificationView {
+
+    private final UUID id;
+    private final NotificationType type;
+    private final String message;
+    private final LocalDateTime createdAt;
+    private final Boolean isRead;
+    private final UUID questId;
+    private final String questTitle;
+
+    public NotificationView(UUID id, NotificationType type, String message, LocalDateTime createdAt, Boolean isRead,
+                            UUID questId, String questTitle) {
+        this.id = id;
+        this.type = type;
+        this.message = message;
+        this.createdAt = createdAt;
+        this.isRead = isRead;
+        this.questId = questId;
+        this.questTitle = questTitle;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Boolean getIsRead() {
+        return isRead;
+    }
+
+    public UUID getQuestId() {
+        return questId;
+    }
+
+    public String getQuestTitle() {
+        return questTitle;
+    }
+}
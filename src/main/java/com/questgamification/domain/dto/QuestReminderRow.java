@@ -0,0 +1,50 @@
+package com.questgamification.domain.dto;
+
+import com.questgamification.domain.entity.QuestType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class QuestReminderRow {
+
+    private final UUID questId;
+    private final UUID userId;
+    private final String title;
+    private final QuestType questType;
+    private final LocalDate endDate;
+    private final Integer checkInGoal;
+
+    public QuestReminderRow(UUID questId, UUID userId, String title, QuestType questType,
+                            LocalDate endDate, Integer checkInGoal) {
+        this.questId = questId;
+        this.userId = userId;
+        this.title = title;
+        this.questType = questType;
+        this.endDate = endDate;
+        this.checkInGoal = checkInGoal;
+    }
+
+    public UUID getQuestId() {
+        return questId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public QuestType getQuestType() {
+        return questType;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Integer getCheckInGoal() {
+        return checkInGoal;
+    }
+}
@@ -0,0 +1,83 @@
+package com.questgamification.domain.dto;
+
+import com.questgamification.domain.entity.Quest;
+import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.domain.entity.QuestType;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Immutable quest snapshot projected straight from the quests table; lists of these are what the quest cache holds
+public final class QuestView {
+
+    private final UUID id;
+    private final UUID userId;
+    private final String title;
+    private final String description;
+    private final QuestType questType;
+    private final QuestStatus status;
+    private final Long experienceReward;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Integer checkInGoal;
+
+    public QuestView(UUID id, UUID userId, String title, String description, QuestType questType, QuestStatus status,
+                     Long experienceReward, LocalDate startDate, LocalDate endDate, Integer checkInGoal) {
+        this.id = id;
+        this.userId = userId;
+        this.title = title;
+        this.description = description;
+        this.questType = questType;
+        this.status = status;
+        this.experienceReward = experienceReward;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.checkInGoal = checkInGoal;
+    }
+
+    public static QuestView from(Quest quest) {
+        return new QuestView(quest.getId(), quest.getUser() != null ? quest.getUser().getId() : null, quest.getTitle(),
+            quest.getDescription(), quest.getQuestType(), quest.getStatus(), quest.getExperienceReward(),
+            quest.getStartDate(), quest.getEndDate(), quest.getCheckInGoal());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public QuestType getQuestType() {
+        return questType;
+    }
+
+    public QuestStatus getStatus() {
+        return status;
+    }
+
+    public Long getExperienceReward() {
+        return experienceReward;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Integer getCheckInGoal() {
+        return checkInGoal;
+    }
+}
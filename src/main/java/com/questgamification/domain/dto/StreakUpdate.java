@@ -0,0 +1,26 @@
+package com.questgamification.domain.dto;
+
+public class StreakUpdate {
+
+    private final int previousLongest;
+    private final int currentStreak;
+    private final int longestStreak;
+
+    public StreakUpdate(int previousLongest, int currentStreak, int longestStreak) {
+        this.previousLongest = previousLongest;
+        this.currentStreak = currentStreak;
+        this.longestStreak = longestStreak;
+    }
+
+    public int getPreviousLongest() {
+        return previousLongest;
+    }
+
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public int getLongestStreak() {
+        return longestStreak;
+    }
+}
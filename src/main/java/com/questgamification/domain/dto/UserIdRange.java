@@ -0,0 +1,46 @@
+package com.questgamification.domain.dto;
+
+import java.util.UUID;
+
+public class UserIdRange {
+
+    private static final UUID MIN = new UUID(0L, 0L);
+    private static final UUID MAX = new UUID(-1L, -1L);
+
+    private final UUID from;
+    private final UUID to;
+
+    public UserIdRange(UUID from, UUID to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public static UserIdRange all() {
+        return new UserIdRange(MIN, MAX);
+    }
+
+    // Random UUIDs are uniformly distributed, so equal slices of the (unsigned) id space
+    // act as hash buckets without needing a hash function in SQL.
+    public static UserIdRange partition(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid partition " + index + " of " + count);
+        }
+        long step = Long.divideUnsigned(-1L, count);
+        UUID from = new UUID(step * index, 0L);
+        UUID to = index == count - 1 ? MAX : new UUID(step * (index + 1) - 1, -1L);
+        return new UserIdRange(from, to);
+    }
+
+    public UUID getFrom() {
+        return from;
+    }
+
+    public UUID getTo() {
+        return to;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + from + ", " + to + "]";
+    }
+}
@@ -0,0 +1,56 @@
+package com.questgamification.domain.dto;
+
+import com.questgamification.domain.entity.Role;
+import com.questgamification.domain.entity.User;
+
+import java.util.Set;
+import java.util.UUID;
+
+// Immutable snapshot of a user for caches and views; carries no lazy associations, so it is safe to share across threads
+public final class UserView {
+
+    private final UUID id;
+    private final String username;
+    private final String email;
+    private final Integer level;
+    private final Long experiencePoints;
+    private final Set<Role> roles;
+
+    public UserView(UUID id, String username, String email, Integer level, Long experiencePoints, Set<Role> roles) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.level = level;
+        this.experiencePoints = experiencePoints;
+        this.roles = roles != null ? Set.copyOf(roles) : Set.of();
+    }
+
+    public static UserView from(User user) {
+        return new UserView(user.getId(), user.getUsername(), user.getEmail(), user.getLevel(),
+            user.getExperiencePoints(), user.getRoles());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Integer getLevel() {
+        return level;
+    }
+
+    public Long getExperiencePoints() {
+        return experiencePoints;
+    }
+
+    public Set<Role> getRoles() {
+        return roles;
+    }
+}
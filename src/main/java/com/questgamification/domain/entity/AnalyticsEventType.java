@@ -0,0 +1,5 @@
+package com.questgamification.domain.entity;
+
+public enum AnalyticsEventType {
+    QUEST_COMPLETION
+}
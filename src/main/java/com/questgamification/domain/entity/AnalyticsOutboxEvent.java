@@ -0,0 +1,133 @@
+package com.questgamification.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Analytics calls recorded in the business transaction and shipped later by AnalyticsShipper; rows are deleted once delivered
+@Entity
+@Table(name = "analytics_outbox", indexes = {
+    @Index(name = "idx_analytics_outbox_next_attempt", columnList = "next_attempt_at, created_at")
+})
+public class AnalyticsOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AnalyticsEventType eventType;
+
+    @NotNull
+    @Column(nullable = false)
+    private UUID userId;
+
+    private UUID questId;
+
+    private Long experiencePoints;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @NotNull
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public AnalyticsOutboxEvent() {
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public static AnalyticsOutboxEvent questCompletion(UUID userId, UUID questId, Long experiencePoints) {
+        AnalyticsOutboxEvent event = new AnalyticsOutboxEvent();
+        event.setEventType(AnalyticsEventType.QUEST_COMPLETION);
+        event.setUserId(userId);
+        event.setQuestId(questId);
+        event.setExperiencePoints(experiencePoints);
+        return event;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public AnalyticsEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(AnalyticsEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public UUID getQuestId() {
+        return questId;
+    }
+
+    public void setQuestId(UUID questId) {
+        this.questId = questId;
+    }
+
+    public Long getExperiencePoints() {
+        return experiencePoints;
+    }
+
+    public void setExperiencePoints(Long experiencePoints) {
+        this.experiencePoints = experiencePoints;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
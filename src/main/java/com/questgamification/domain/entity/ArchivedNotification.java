@@ -0,0 +1,81 @@
+package com.questgamification.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Cold copy of purged notifications, written only when retention archiving is enabled. Plain id columns
+// instead of associations so archived rows outlive the users and quests they refer to.
+@Entity
+@Table(name = "notifications_archive", indexes = {
+    @Index(name = "idx_notifications_archive_user_created", columnList = "user_id, created_at")
+})
+public class ArchivedNotification {
+
+    @Id
+    private UUID id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "quest_id")
+    private UUID questId;
+
+    @NotNull
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(name = "is_read")
+    private Boolean isRead;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    public ArchivedNotification() {
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UUID getQuestId() {
+        return questId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public Boolean getIsRead() {
+        return isRead;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
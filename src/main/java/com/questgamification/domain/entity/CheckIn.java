@@ -4,11 +4,15 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
+import java.time.temporal.IsoFields;
 import java.util.UUID;
 
 @Entity
 @Table(name = "check_ins", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"quest_id", "user_id", "check_in_date"})
+    @UniqueConstraint(columnNames = {"quest_id", "user_id", "check_in_date"}),
+    @UniqueConstraint(name = "uk_check_ins_weekly", columnNames = {"quest_id", "user_id", "weekly_check_in_week"})
+}, indexes = {
+    @Index(name = "idx_check_ins_quest_user_week", columnList = "quest_id, user_id, check_in_week")
 })
 public class CheckIn {
 
@@ -30,14 +34,27 @@ public class CheckIn {
     @Column(nullable = false)
     private LocalDate checkInDate;
 
+    // ISO week-based year * 100 + ISO week, e.g. 202424; derived from checkInDate
+    @Column(name = "check_in_week")
+    private Integer checkInWeek;
+
+    // check_in_week for weekly-quest check-ins and null otherwise. Nulls never collide, so uk_check_ins_weekly works as
+    // a partial unique index over weekly rows: at most one weekly check-in per quest, user and ISO week.
+    @Column(name = "weekly_check_in_week")
+    private Integer weeklyCheckInWeek;
+
     public CheckIn() {
-        this.checkInDate = LocalDate.now();
+        setCheckInDate(LocalDate.now());
     }
 
     public CheckIn(Quest quest, User user) {
         this.quest = quest;
         this.user = user;
-        this.checkInDate = LocalDate.now();
+        setCheckInDate(LocalDate.now());
+    }
+
+    public static int isoWeekKey(LocalDate date) {
+        return date.get(IsoFields.WEEK_BASED_YEAR) * 100 + date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
     }
 
     public UUID getId() {
@@ -54,6 +71,7 @@ public class CheckIn {
 
     public void setQuest(Quest quest) {
         this.quest = quest;
+        updateWeeklyCheckInWeek();
     }
 
     public User getUser() {
@@ -70,6 +88,20 @@ public class CheckIn {
 
     public void setCheckInDate(LocalDate checkInDate) {
         this.checkInDate = checkInDate;
+        this.checkInWeek = checkInDate != null ? isoWeekKey(checkInDate) : null;
+        updateWeeklyCheckInWeek();
+    }
+
+    public Integer getCheckInWeek() {
+        return checkInWeek;
+    }
+
+    public Integer getWeeklyCheckInWeek() {
+        return weeklyCheckInWeek;
+    }
+
+    private void updateWeeklyCheckInWeek() {
+        this.weeklyCheckInWeek = quest != null && quest.getQuestType() == QuestType.WEEKLY ? checkInWeek : null;
     }
 }
 
@@ -12,7 +12,10 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "quests")
+@Table(name = "quests", indexes = {
+    @Index(name = "idx_quests_status_type_end_date", columnList = "status, quest_type, end_date"),
+    @Index(name = "idx_quests_end_date_id", columnList = "end_date, id")
+})
 public class Quest {
 
     @Id
@@ -4,11 +4,14 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "quest_progress")
+@Table(name = "quest_progress", indexes = {
+    @Index(name = "idx_quest_progress_quest_user", columnList = "quest_id, user_id")
+})
 public class QuestProgress {
 
     @Id
@@ -24,6 +27,14 @@ public class QuestProgress {
     @Column(nullable = false)
     private LocalDateTime lastUpdated;
 
+    // Maintained by QuestService.checkIn and rebuilt from check_ins by QuestProgressReconciler
+    @NotNull
+    @PositiveOrZero
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private Integer checkInCount = 0;
+
+    private LocalDate lastCheckInDate;
+
 
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
@@ -62,6 +73,22 @@ public class QuestProgress {
         this.lastUpdated = lastUpdated;
     }
 
+    public Integer getCheckInCount() {
+        return checkInCount;
+    }
+
+    public void setCheckInCount(Integer checkInCount) {
+        this.checkInCount = checkInCount;
+    }
+
+    public LocalDate getLastCheckInDate() {
+        return lastCheckInDate;
+    }
+
+    public void setLastCheckInDate(LocalDate lastCheckInDate) {
+        this.lastCheckInDate = lastCheckInDate;
+    }
+
     public Quest getQuest() {
         return quest;
     }
@@ -0,0 +1,74 @@
+package com.questgamification.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+
+    @Id
+    @Column(length = 150)
+    private String name;
+
+    @NotNull
+    @Column(nullable = false)
+    private String owner;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime lockedAt;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime lockedUntil;
+
+    // Latest cron firing whose work under this lease finished; partitioned jobs skip firings at or before it
+    @Column(name = "completed_firing")
+    private LocalDateTime completedFiring;
+
+    public SchedulerLease() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLockedAt() {
+        return lockedAt;
+    }
+
+    public void setLockedAt(LocalDateTime lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public LocalDateTime getCompletedFiring() {
+        return completedFiring;
+    }
+
+    public void setCompletedFiring(LocalDateTime completedFiring) {
+        this.completedFiring = completedFiring;
+    }
+}
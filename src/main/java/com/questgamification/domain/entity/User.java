@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
+// Flushes write only the columns that changed, so saving a user for an unrelated edit never writes back a stale
+// experience_points or level; both are maintained in SQL by UserService.addExperience
 @Entity
+@DynamicUpdate
 @Table(name = "users")
 public class User {
 
@@ -0,0 +1,112 @@
+package com.questgamification.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Per-user counters maintained incrementally by UserStatsService; rebuildable from quests and join tables
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer totalQuests = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer activeQuests = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer completedQuests = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer expiredQuests = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer achievementsCount = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer rewardsClaimed = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public UserStats() {
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public Integer getTotalQuests() {
+        return totalQuests;
+    }
+
+    public void setTotalQuests(Integer totalQuests) {
+        this.totalQuests = totalQuests;
+    }
+
+    public Integer getActiveQuests() {
+        return activeQuests;
+    }
+
+    public void setActiveQuests(Integer activeQuests) {
+        this.activeQuests = activeQuests;
+    }
+
+    public Integer getCompletedQuests() {
+        return completedQuests;
+    }
+
+    public void setCompletedQuests(Integer completedQuests) {
+        this.completedQuests = completedQuests;
+    }
+
+    public Integer getExpiredQuests() {
+        return expiredQuests;
+    }
+
+    public void setExpiredQuests(Integer expiredQuests) {
+        this.expiredQuests = expiredQuests;
+    }
+
+    public Integer getAchievementsCount() {
+        return achievementsCount;
+    }
+
+    public void setAchievementsCount(Integer achievementsCount) {
+        this.achievementsCount = achievementsCount;
+    }
+
+    public Integer getRewardsClaimed() {
+        return rewardsClaimed;
+    }
+
+    public void setRewardsClaimed(Integer rewardsClaimed) {
+        this.rewardsClaimed = rewardsClaimed;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
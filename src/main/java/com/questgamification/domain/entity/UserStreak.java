@@ -0,0 +1,152 @@
+package com.questgamification.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Active days kept alive by the cadence of the check-ins in the current run, maintained by StreakService. Any check-in
+// keeps the streak going into the next day. A run made up only of weekly check-ins also stays alive through the next
+// ISO week, since weekly quests accept only one check-in per week; once a daily check-in joins the run, every day
+// counts and a weekly check-in no longer excuses missed days.
+@Entity
+@Table(name = "user_streaks")
+public class UserStreak {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer currentStreak = 0;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer longestStreak = 0;
+
+    private LocalDate lastActivityDate;
+
+    // ISO week key (see CheckIn.isoWeekKey) of the latest weekly-quest check-in
+    private Integer lastWeeklyActivityWeek;
+
+    // Whether every check-in in the current run was for a weekly quest; null on rows written before it existed,
+    // which were all daily runs
+    private Boolean weeklyOnly;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public UserStreak() {
+    }
+
+    public UserStreak(UUID userId) {
+        this.userId = userId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Each new active day adds one while the run's cadence still covers it; same-day and out-of-order activity leave
+    // the count as is, and a gap the cadence does not cover restarts it at one
+    public boolean recordActivity(LocalDate day, QuestType questType) {
+        boolean weekly = questType == QuestType.WEEKLY;
+        boolean alive = isAlive(day);
+        if (weekly) {
+            int week = CheckIn.isoWeekKey(day);
+            if (lastWeeklyActivityWeek == null || week > lastWeeklyActivityWeek) {
+                lastWeeklyActivityWeek = week;
+            }
+        }
+        if (lastActivityDate != null && !day.isAfter(lastActivityDate)) {
+            if (!weekly && day.isEqual(lastActivityDate)) {
+                weeklyOnly = false;
+            }
+            return false;
+        }
+        currentStreak = alive ? currentStreak + 1 : 1;
+        weeklyOnly = alive ? isWeeklyOnly() && weekly : weekly;
+        longestStreak = Math.max(longestStreak, currentStreak);
+        lastActivityDate = day;
+        updatedAt = LocalDateTime.now();
+        return true;
+    }
+
+    // A streak its cadence no longer covers is already broken, even if no check-in has reset it yet
+    public int currentStreakAsOf(LocalDate today) {
+        return isAlive(today) ? currentStreak : 0;
+    }
+
+    private boolean isAlive(LocalDate day) {
+        if (lastActivityDate == null) {
+            return false;
+        }
+        if (!lastActivityDate.isBefore(day.minusDays(1))) {
+            return true;
+        }
+        return isWeeklyOnly()
+            && lastWeeklyActivityWeek != null
+            && lastWeeklyActivityWeek >= CheckIn.isoWeekKey(day.minusWeeks(1));
+    }
+
+    private boolean isWeeklyOnly() {
+        return Boolean.TRUE.equals(weeklyOnly);
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public Integer getCurrentStreak() {
+        return currentStreak;
+    }
+
+    public void setCurrentStreak(Integer currentStreak) {
+        this.currentStreak = currentStreak;
+    }
+
+    public Integer getLongestStreak() {
+        return longestStreak;
+    }
+
+    public void setLongestStreak(Integer longestStreak) {
+        this.longestStreak = longestStreak;
+    }
+
+    public LocalDate getLastActivityDate() {
+        return lastActivityDate;
+    }
+
+    public void setLastActivityDate(LocalDate lastActivityDate) {
+        this.lastActivityDate = lastActivityDate;
+    }
+
+    public Integer getLastWeeklyActivityWeek() {
+        return lastWeeklyActivityWeek;
+    }
+
+    public void setLastWeeklyActivityWeek(Integer lastWeeklyActivityWeek) {
+        this.lastWeeklyActivityWeek = lastWeeklyActivityWeek;
+    }
+
+    public Boolean getWeeklyOnly() {
+        return weeklyOnly;
+    }
+
+    public void setWeeklyOnly(Boolean weeklyOnly) {
+        this.weeklyOnly = weeklyOnly;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
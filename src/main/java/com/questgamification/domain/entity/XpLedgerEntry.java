@@ -0,0 +1,85 @@
+package com.questgamification.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One row per XP grant, never updated or deleted; users.experience_points is the running total of these amounts
+@Entity
+@Immutable
+@Table(name = "xp_ledger", indexes = {
+    @Index(name = "idx_xp_ledger_user_created", columnList = "user_id, created_at")
+})
+public class XpLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long amount;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private XpSource source;
+
+    // The record that earned the XP, e.g. the check-in id
+    private UUID referenceId;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long balanceAfter;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    protected XpLedgerEntry() {
+    }
+
+    public XpLedgerEntry(UUID userId, Long amount, XpSource source, UUID referenceId, Long balanceAfter) {
+        this.userId = userId;
+        this.amount = amount;
+        this.source = source;
+        this.referenceId = referenceId;
+        this.balanceAfter = balanceAfter;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public Long getAmount() {
+        return amount;
+    }
+
+    public XpSource getSource() {
+        return source;
+    }
+
+    public UUID getReferenceId() {
+        return referenceId;
+    }
+
+    public Long getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
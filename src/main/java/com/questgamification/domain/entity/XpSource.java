@@ -0,0 +1,5 @@
+package com.questgamification.domain.entity;
+
+public enum XpSource {
+    QUEST_CHECK_IN
+}
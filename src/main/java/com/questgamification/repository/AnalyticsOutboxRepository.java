@@ -0,0 +1,22 @@
+package com.questgamification.repository;
+
+import com.questgamification.domain.entity.AnalyticsOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AnalyticsOutboxRepository extends JpaRepository<AnalyticsOutboxEvent, UUID> {
+
+    @Query("SELECT e FROM AnalyticsOutboxEvent e WHERE e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.createdAt")
+    List<AnalyticsOutboxEvent> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM AnalyticsOutboxEvent e")
+    long countPending();
+}
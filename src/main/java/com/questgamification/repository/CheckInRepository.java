@@ -4,6 +4,9 @@ import com.questgamification.domain.entity.CheckIn;
 import com.questgamification.domain.entity.Quest;
 import com.questgamification.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -19,7 +22,26 @@ public interface CheckInRepository extends JpaRepository<CheckIn, UUID> {
     Optional<CheckIn> findByQuestAndUserAndCheckInDate(Quest quest, User user, LocalDate date);
     
     long countByQuestAndUser(Quest quest, User user);
-    
-    List<CheckIn> findByQuestAndUser(Quest quest, User user);
+
+
+    long countByQuestIdAndUserId(UUID questId, UUID userId);
+
+    // Rows written before check_in_week existed (or by a node still on the old version) have no week key yet,
+    // so those are matched on their date instead
+    @Query("SELECT COUNT(c) > 0 FROM CheckIn c WHERE c.quest.id = :questId AND c.user.id = :userId " +
+           "AND (c.checkInWeek = :checkInWeek OR (c.checkInWeek IS NULL AND c.checkInDate BETWEEN :weekStart AND :weekEnd))")
+    boolean existsInWeek(@Param("questId") UUID questId, @Param("userId") UUID userId,
+                         @Param("checkInWeek") Integer checkInWeek,
+                         @Param("weekStart") LocalDate weekStart, @Param("weekEnd") LocalDate weekEnd);
+
+    // Relies on the per-day and weekly (uk_check_ins_weekly) unique constraints: returns 0 instead of failing when
+    // either one already holds a row.
+    @Modifying
+    @Query(value = "INSERT INTO check_ins (id, quest_id, user_id, check_in_date, check_in_week, weekly_check_in_week) " +
+                   "VALUES (:id, :questId, :userId, :checkInDate, :checkInWeek, :weeklyCheckInWeek) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("questId") UUID questId, @Param("userId") UUID userId,
+                       @Param("checkInDate") LocalDate checkInDate, @Param("checkInWeek") Integer checkInWeek,
+                       @Param("weeklyCheckInWeek") Integer weeklyCheckInWeek);
 }
 
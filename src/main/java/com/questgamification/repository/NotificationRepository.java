@@ -1,25 +1,51 @@
 package com.questgamification.repository;
 
+import com.questgamification.domain.dto.NotificationView;
 import com.questgamification.domain.entity.Notification;
 import com.questgamification.domain.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
     
-    @Query("SELECT DISTINCT n FROM Notification n LEFT JOIN FETCH n.quest WHERE n.user = :user ORDER BY n.createdAt DESC")
-    List<Notification> findByUserOrderByCreatedAtDesc(@Param("user") User user);
+    // Newest first, seeking past (createdAt, id) of the previous page's last row
+    @Query("SELECT new com.questgamification.domain.dto.NotificationView(n.id, n.type, n.message, n.createdAt, n.isRead, " +
+           "q.id, q.title) " +
+           "FROM Notification n LEFT JOIN n.quest q WHERE n.user.id = :userId " +
+           "AND (n.createdAt < :beforeCreatedAt OR (n.createdAt = :beforeCreatedAt AND n.id < :beforeId)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationView> findFeedPage(@Param("userId") UUID userId,
+                                        @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                        @Param("beforeId") UUID beforeId,
+                                        Pageable pageable);
     
+    // Oldest first, so a stream that catches up receives them in the order they were created
+    @Query("SELECT new com.questgamification.domain.dto.NotificationView(n.id, n.type, n.message, n.createdAt, n.isRead, " +
+           "q.id, q.title) " +
+           "FROM Notification n LEFT JOIN n.quest q WHERE n.user.id = :userId AND n.isRead = false " +
+           "AND n.createdAt > :after ORDER BY n.createdAt ASC, n.id ASC")
+    List<NotificationView> findUnreadCreatedAfter(@Param("userId") UUID userId,
+                                                  @Param("after") LocalDateTime after,
+                                                  Pageable pageable);
+
     List<Notification> findByUserAndIsReadFalseOrderByCreatedAtDesc(User user);
     
-    long countByUserAndIsReadFalse(User user);
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false")
+    long countUnreadByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT n.user.id, COUNT(n) FROM Notification n WHERE n.user.id IN :userIds AND n.isRead = false " +
+           "GROUP BY n.user.id")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<UUID> userIds);
     
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true WHERE n.user = :user AND (n.isRead = false OR n.isRead IS NULL)")
@@ -4,8 +4,14 @@ import com.questgamification.domain.entity.Quest;
 import com.questgamification.domain.entity.QuestProgress;
 import com.questgamification.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,5 +20,25 @@ import java.util.UUID;
 public interface QuestProgressRepository extends JpaRepository<QuestProgress, UUID> {
     Optional<QuestProgress> findByQuestAndUser(Quest quest, User user);
     List<QuestProgress> findByUser(User user);
-}
 
+    @Modifying
+    @Query("UPDATE QuestProgress p SET p.checkInCount = p.checkInCount + 1, p.lastCheckInDate = :checkInDate, " +
+           "p.progressPercentage = CASE WHEN (p.checkInCount + 1) * 100 / :goal >= 100 THEN 100 " +
+           "ELSE (p.checkInCount + 1) * 100 / :goal END, p.lastUpdated = :now " +
+           "WHERE p.quest.id = :questId AND p.user.id = :userId")
+    int recordCheckIn(@Param("questId") UUID questId, @Param("userId") UUID userId,
+                      @Param("checkInDate") LocalDate checkInDate, @Param("goal") int goal,
+                      @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.checkInCount FROM QuestProgress p WHERE p.quest.id = :questId AND p.user.id = :userId")
+    Optional<Integer> findCheckInCount(@Param("questId") UUID questId, @Param("userId") UUID userId);
+
+    @Query("SELECT p.lastCheckInDate FROM QuestProgress p WHERE p.quest.id = :questId AND p.user.id = :userId")
+    Optional<LocalDate> findLastCheckInDate(@Param("questId") UUID questId, @Param("userId") UUID userId);
+
+    @Query("SELECT p.quest.id, p.lastCheckInDate FROM QuestProgress p WHERE p.user.id = :userId AND p.quest.id IN :questIds")
+    List<Object[]> findLastCheckInDates(@Param("userId") UUID userId, @Param("questIds") Collection<UUID> questIds);
+
+    @Query("SELECT p.quest.id, p.checkInCount FROM QuestProgress p WHERE p.quest.id IN :questIds")
+    List<Object[]> findCheckInCounts(@Param("questIds") Collection<UUID> questIds);
+}
@@ -1,13 +1,20 @@
 package com.questgamification.repository;
 
+import com.questgamification.domain.dto.AdminQuestRow;
+import com.questgamification.domain.dto.QuestReminderRow;
+import com.questgamification.domain.dto.QuestView;
 import com.questgamification.domain.entity.Quest;
 import com.questgamification.domain.entity.QuestStatus;
 import com.questgamification.domain.entity.QuestType;
 import com.questgamification.domain.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,6 +23,71 @@ public interface QuestRepository extends JpaRepository<Quest, UUID> {
     List<Quest> findByUser(User user);
     List<Quest> findByUserAndStatus(User user, QuestStatus status);
     List<Quest> findByUserAndQuestType(User user, QuestType questType);
-    List<Quest> findByStatusAndEndDateBefore(QuestStatus status, LocalDate date);
-}
 
+    @Query("SELECT new com.questgamification.domain.dto.QuestView(q.id, q.user.id, q.title, q.description, q.questType, " +
+           "q.status, q.experienceReward, q.startDate, q.endDate, q.checkInGoal) FROM Quest q WHERE q.user.id = :userId")
+    List<QuestView> findViewsByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT new com.questgamification.domain.dto.QuestView(q.id, q.user.id, q.title, q.description, q.questType, " +
+           "q.status, q.experienceReward, q.startDate, q.endDate, q.checkInGoal) FROM Quest q " +
+           "WHERE q.user.id = :userId AND q.status = :status")
+    List<QuestView> findViewsByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") QuestStatus status);
+
+    @Query("SELECT q.status, COUNT(q) FROM Quest q GROUP BY q.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT new com.questgamification.domain.dto.QuestReminderRow(q.id, q.user.id, q.title, q.questType, q.endDate, q.checkInGoal) " +
+           "FROM Quest q WHERE q.status = :status AND q.questType IN :types " +
+           "AND q.endDate BETWEEN :fromDate AND :toDate AND q.user.id BETWEEN :userFrom AND :userTo " +
+           "AND q.id > :afterId ORDER BY q.id")
+    List<QuestReminderRow> findReminderPage(@Param("status") QuestStatus status,
+                                            @Param("types") Collection<QuestType> types,
+                                            @Param("fromDate") LocalDate fromDate,
+                                            @Param("toDate") LocalDate toDate,
+                                            @Param("userFrom") UUID userFrom,
+                                            @Param("userTo") UUID userTo,
+                                            @Param("afterId") UUID afterId,
+                                            Pageable pageable);
+
+    @Query("SELECT new com.questgamification.domain.dto.QuestReminderRow(q.id, q.user.id, q.title, q.questType, q.endDate, q.checkInGoal) " +
+           "FROM Quest q WHERE q.status = :status AND q.questType IN :types " +
+           "AND q.endDate BETWEEN :fromDate AND :toDate AND q.user.id BETWEEN :userFrom AND :userTo " +
+           "AND q.id > :afterId " +
+           "AND NOT EXISTS (SELECT p.id FROM QuestProgress p WHERE p.quest = q AND p.lastCheckInDate >= :checkedInSince) " +
+           "ORDER BY q.id")
+    List<QuestReminderRow> findReminderPageWithoutCheckIn(@Param("status") QuestStatus status,
+                                                          @Param("types") Collection<QuestType> types,
+                                                          @Param("fromDate") LocalDate fromDate,
+                                                          @Param("toDate") LocalDate toDate,
+                                                          @Param("checkedInSince") LocalDate checkedInSince,
+                                                          @Param("userFrom") UUID userFrom,
+                                                          @Param("userTo") UUID userTo,
+                                                          @Param("afterId") UUID afterId,
+                                                          Pageable pageable);
+
+    @Query("SELECT new com.questgamification.domain.dto.AdminQuestRow(q.id, q.title, u.username, q.status, q.questType, " +
+           "q.experienceReward, q.startDate, q.endDate) " +
+           "FROM Quest q JOIN q.user u WHERE q.status IN :statuses AND q.questType IN :types " +
+           "AND (:username = '' OR u.username = :username) " +
+           "AND (q.endDate > :afterEndDate OR (q.endDate = :afterEndDate AND q.id > :afterId)) " +
+           "ORDER BY q.endDate, q.id")
+    List<AdminQuestRow> findAdminPageByEndDate(@Param("statuses") Collection<QuestStatus> statuses,
+                                               @Param("types") Collection<QuestType> types,
+                                               @Param("username") String username,
+                                               @Param("afterEndDate") LocalDate afterEndDate,
+                                               @Param("afterId") UUID afterId,
+                                               Pageable pageable);
+
+    @Query("SELECT new com.questgamification.domain.dto.AdminQuestRow(q.id, q.title, u.username, q.status, q.questType, " +
+           "q.experienceReward, q.startDate, q.endDate) " +
+           "FROM Quest q JOIN q.user u WHERE q.status IN :statuses AND q.questType IN :types " +
+           "AND (:username = '' OR u.username = :username) " +
+           "AND (q.title > :afterTitle OR (q.title = :afterTitle AND q.id > :afterId)) " +
+           "ORDER BY q.title, q.id")
+    List<AdminQuestRow> findAdminPageByTitle(@Param("statuses") Collection<QuestStatus> statuses,
+                                             @Param("types") Collection<QuestType> types,
+                                             @Param("username") String username,
+                                             @Param("afterTitle") String afterTitle,
+                                             @Param("afterId") UUID afterId,
+                                             Pageable pageable);
+}
@@ -1,12 +1,16 @@
 package com.questgamification.repository;
 
+import com.questgamification.domain.dto.AdminUserRow;
 import com.questgamification.domain.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,5 +27,14 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @EntityGraph(attributePaths = {"achievements", "roles"})
     @Query("SELECT u FROM User u WHERE u.id = :id")
     Optional<User> findByIdWithAchievements(@Param("id") UUID id);
-}
 
+    @Query("SELECT new com.questgamification.domain.dto.AdminUserRow(u.id, u.username, u.email, u.level, u.experiencePoints) " +
+           "FROM User u WHERE LOWER(u.username) LIKE :usernamePattern ESCAPE '!' AND u.username > :afterUsername " +
+           "ORDER BY u.username")
+    List<AdminUserRow> findAdminPage(@Param("usernamePattern") String usernamePattern,
+                                     @Param("afterUsername") String afterUsername,
+                                     Pageable pageable);
+
+    @Query("SELECT u.id, r FROM User u JOIN u.roles r WHERE u.id IN :userIds")
+    List<Object[]> findRolesByUserIds(@Param("userIds") Collection<UUID> userIds);
+}
@@ -0,0 +1,54 @@
+package com.questgamification.repository;
+
+import com.questgamification.domain.entity.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, UUID> {
+
+    String REBUILD_SQL =
+        "INSERT INTO user_stats (user_id, total_quests, active_quests, completed_quests, expired_quests, " +
+        "achievements_count, rewards_claimed, updated_at) " +
+        "SELECT u.id, " +
+        "(SELECT COUNT(*) FROM quests q WHERE q.user_id = u.id), " +
+        "(SELECT COUNT(*) FROM quests q WHERE q.user_id = u.id AND q.status = 'ACTIVE'), " +
+        "(SELECT COUNT(*) FROM quests q WHERE q.user_id = u.id AND q.status = 'COMPLETED'), " +
+        "(SELECT COUNT(*) FROM quests q WHERE q.user_id = u.id AND q.status = 'EXPIRED'), " +
+        "(SELECT COUNT(*) FROM user_achievements ua WHERE ua.user_id = u.id), " +
+        "(SELECT COUNT(*) FROM user_rewards ur WHERE ur.user_id = u.id), now() " +
+        "FROM users u ";
+
+    String REBUILD_CONFLICT_SQL =
+        "ON CONFLICT (user_id) DO UPDATE SET total_quests = EXCLUDED.total_quests, " +
+        "active_quests = EXCLUDED.active_quests, completed_quests = EXCLUDED.completed_quests, " +
+        "expired_quests = EXCLUDED.expired_quests, achievements_count = EXCLUDED.achievements_count, " +
+        "rewards_claimed = EXCLUDED.rewards_claimed, updated_at = EXCLUDED.updated_at";
+
+    @Modifying
+    @Query(value = REBUILD_SQL + "WHERE u.id = :userId " + REBUILD_CONFLICT_SQL, nativeQuery = true)
+    int rebuildForUser(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = REBUILD_SQL + REBUILD_CONFLICT_SQL, nativeQuery = true)
+    int rebuildAll();
+
+    @Query("SELECT s.completedQuests FROM UserStats s WHERE s.userId = :userId")
+    Optional<Integer> findCompletedQuests(@Param("userId") UUID userId);
+
+    // Deltas only touch existing rows; a user without a row is built from source on first read.
+    @Modifying
+    @Query(value = "UPDATE user_stats SET total_quests = total_quests + :total, active_quests = active_quests + :active, " +
+                   "completed_quests = completed_quests + :completed, expired_quests = expired_quests + :expired, " +
+                   "achievements_count = achievements_count + :achievements, rewards_claimed = rewards_claimed + :rewards, " +
+                   "updated_at = now() WHERE user_id = :userId", nativeQuery = true)
+    int applyDelta(@Param("userId") UUID userId, @Param("total") int total, @Param("active") int active,
+                   @Param("completed") int completed, @Param("expired") int expired,
+                   @Param("achievements") int achievements, @Param("rewards") int rewards);
+}
@@ -0,0 +1,26 @@
+package com.questgamification.repository;
+
+import com.questgamification.domain.entity.UserStreak;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface UserStreakRepository extends JpaRepository<UserStreak, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStreak s WHERE s.userId = :userId")
+    Optional<UserStreak> findForUpdate(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_streaks (user_id, current_streak, longest_streak, updated_at) " +
+                   "VALUES (:userId, 0, 0, now()) ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId);
+}
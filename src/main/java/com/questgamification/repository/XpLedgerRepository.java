@@ -0,0 +1,11 @@
+package com.questgamification.repository;
+
+import com.questgamification.domain.entity.XpLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface XpLedgerRepository extends JpaRepository<XpLedgerEntry, UUID> {
+}
@@ -1,216 +1,146 @@
 package com.questgamification.scheduler;
 
-import com.questgamification.domain.entity.CheckIn;
-import com.questgamification.domain.entity.Quest;
-import com.questgamification.domain.entity.QuestStatus;
-import com.questgamification.domain.entity.QuestType;
-import com.questgamification.repository.CheckInRepository;
-import com.questgamification.repository.QuestRepository;
-import com.questgamification.service.NotificationService;
-import com.questgamification.service.QuestService;
+import com.questgamification.service.AnalyticsShipper;
+import com.questgamification.service.NotificationRetentionService;
+import com.questgamification.service.NotificationStreamRegistry;
+import com.questgamification.service.QuestExpirationService;
+import com.questgamification.service.QuestProgressReconciler;
+import com.questgamification.service.QuestReminderService;
+import com.questgamification.service.UnreadNotificationCounter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.time.temporal.WeekFields;
-import java.util.List;
-import java.util.Optional;
-import java.util.Locale;
 
 @Component
 public class QuestScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(QuestScheduler.class);
-    private final QuestService questService;
-    private final QuestRepository questRepository;
-    private final NotificationService notificationService;
-    private final CheckInRepository checkInRepository;
-
-    public QuestScheduler(QuestService questService, QuestRepository questRepository, 
-                         NotificationService notificationService, CheckInRepository checkInRepository) {
-        this.questService = questService;
-        this.questRepository = questRepository;
-        this.notificationService = notificationService;
-        this.checkInRepository = checkInRepository;
+    static final String MORNING_REMINDERS_CRON = "0 0 9 * * *";
+    static final String MIDDAY_REMINDERS_CRON = "0 0 14 * * *";
+    static final String EVENING_REMINDERS_CRON = "0 0 19 * * *";
+    static final String WEEKLY_SUMMARY_CRON = "0 0 18 * * 0";
+    private final QuestExpirationService questExpirationService;
+    private final QuestReminderService questReminderService;
+    private final QuestProgressReconciler questProgressReconciler;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationRetentionService notificationRetentionService;
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    private final AnalyticsShipper analyticsShipper;
+    private final int partitions;
+
+    public QuestScheduler(QuestExpirationService questExpirationService, QuestReminderService questReminderService,
+                         QuestProgressReconciler questProgressReconciler, SchedulerLeaseService schedulerLeaseService,
+                         UnreadNotificationCounter unreadNotificationCounter,
+                         NotificationRetentionService notificationRetentionService,
+                         NotificationStreamRegistry notificationStreamRegistry,
+                         AnalyticsShipper analyticsShipper,
+                         @Value("${quest.scheduler.partitions:8}") int partitions) {
+        this.questExpirationService = questExpirationService;
+        this.questReminderService = questReminderService;
+        this.questProgressReconciler = questProgressReconciler;
+        this.schedulerLeaseService = schedulerLeaseService;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.notificationRetentionService = notificationRetentionService;
+        this.notificationStreamRegistry = notificationStreamRegistry;
+        this.analyticsShipper = analyticsShipper;
+        this.partitions = partitions;
     }
 
     @Scheduled(cron = "0 0 0 * * *")
-    @CacheEvict(value = {"notifications", "notificationCount"}, allEntries = true)
     public void expireQuestsDaily() {
         logger.info("Running daily quest expiration job at {}", LocalDateTime.now());
-        var expiredQuests = questService.findExpiredQuests();
-        if (!expiredQuests.isEmpty()) {
-            questService.expireQuests(expiredQuests);
-            expiredQuests.forEach(quest -> notificationService.createQuestExpiredNotification(quest));
-            logger.info("Expired {} quests", expiredQuests.size());
-        }
+        schedulerLeaseService.runExclusively("quest-expiration",
+            () -> questExpirationService.expireQuests(LocalDate.now()));
     }
 
     @Scheduled(fixedDelay = 3600000)
     public void expireQuestsHourly() {
         logger.info("Running hourly quest expiration check at {}", LocalDateTime.now());
-        var expiredQuests = questService.findExpiredQuests();
-        if (!expiredQuests.isEmpty()) {
-            questService.expireQuests(expiredQuests);
-            expiredQuests.forEach(quest -> notificationService.createQuestExpiredNotification(quest));
-            logger.info("Expired {} quests", expiredQuests.size());
-        }
+        schedulerLeaseService.runExclusively("quest-expiration",
+            () -> questExpirationService.expireQuests(LocalDate.now()));
     }
 
-    @Scheduled(cron = "0 0 9 * * *")
-    @CacheEvict(value = {"notifications", "notificationCount"}, allEntries = true)
+    @Scheduled(cron = MORNING_REMINDERS_CRON)
     public void sendMorningQuestReminders() {
         logger.info("Running morning quest reminder job at {}", LocalDateTime.now());
-        LocalDate today = LocalDate.now();
-        List<Quest> activeQuests = questRepository.findAll().stream()
-            .filter(q -> q.getStatus() == QuestStatus.ACTIVE)
-            .toList();
-        
-        for (Quest quest : activeQuests) {
-            LocalDate endDate = quest.getEndDate();
-            long daysUntilDeadline = ChronoUnit.DAYS.between(today, endDate);
-            
-            if (daysUntilDeadline < 0) {
-                continue; // Quest already expired, skip
-            }
-            
-            if (quest.getQuestType() == QuestType.DAILY) {
-                notificationService.createQuestReminderNotification(quest, (int) daysUntilDeadline);
-                logger.info("Sent morning reminder for DAILY quest {} ({} days remaining)", quest.getId(), daysUntilDeadline);
-            }
-            
-            if (quest.getQuestType() == QuestType.WEEKLY) {
-                java.time.DayOfWeek dayOfWeek = today.getDayOfWeek();
-                if (dayOfWeek == java.time.DayOfWeek.MONDAY) {
-                    notificationService.createQuestReminderNotification(quest, (int) daysUntilDeadline);
-                    logger.info("Sent weekly reminder for WEEKLY quest {} ({} days remaining)", quest.getId(), daysUntilDeadline);
-                }
-            }
-            
-            if (daysUntilDeadline == 1) {
-                notificationService.createQuestExpiringNotification(quest);
-                logger.info("Sent expiring soon notification for quest {}", quest.getId());
-            }
-        }
-        
-        logger.info("Completed morning quest reminder job. Processed {} active quests", activeQuests.size());
+        LocalDateTime firing = SchedulerLeaseService.latestFiring(MORNING_REMINDERS_CRON, LocalDateTime.now());
+        LocalDate today = firing.toLocalDate();
+        schedulerLeaseService.runPartitioned("morning-reminders", firing, partitions,
+            users -> questReminderService.sendMorningReminders(today, users));
     }
 
-    @Scheduled(cron = "0 0 19 * * *")
-    @CacheEvict(value = {"notifications", "notificationCount"}, allEntries = true)
+    @Scheduled(cron = EVENING_REMINDERS_CRON)
     public void sendEveningQuestReminders() {
         logger.info("Running evening quest reminder job at {}", LocalDateTime.now());
-        LocalDate today = LocalDate.now();
-        List<Quest> activeQuests = questRepository.findAll().stream()
-            .filter(q -> q.getStatus() == QuestStatus.ACTIVE)
-            .toList();
-        
-        for (Quest quest : activeQuests) {
-            LocalDate endDate = quest.getEndDate();
-            long daysUntilDeadline = ChronoUnit.DAYS.between(today, endDate);
-            
-            if (daysUntilDeadline < 0) {
-                continue;
-            }
-            
-            if (quest.getQuestType() == QuestType.DAILY) {
-                Optional<CheckIn> todayCheckIn = checkInRepository.findByQuestAndUserAndCheckInDate(
-                    quest, quest.getUser(), today);
-                
-                if (todayCheckIn.isEmpty() && questService.canCheckIn(quest, quest.getUser(), today)) {
-                    String message = String.format("Don't forget to check in for your daily quest '%s' today! Deadline: %s",
-                        quest.getTitle(), endDate.format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy")));
-                    notificationService.createNotification(quest.getUser(), quest, 
-                        com.questgamification.domain.entity.NotificationType.QUEST_REMINDER, message);
-                    logger.info("Sent evening reminder for uncheck-in DAILY quest {}", quest.getId());
-                }
-            }
-            
-            if (quest.getQuestType() == QuestType.WEEKLY && today.getDayOfWeek() == java.time.DayOfWeek.SUNDAY) {
-                WeekFields weekFields = WeekFields.of(Locale.getDefault());
-                int currentWeek = today.get(weekFields.weekOfYear());
-                int currentYear = today.get(weekFields.weekBasedYear());
-                
-                List<CheckIn> checkInsThisWeek = checkInRepository.findByQuestAndUser(quest, quest.getUser())
-                    .stream()
-                    .filter(checkIn -> {
-                        int checkInWeek = checkIn.getCheckInDate().get(weekFields.weekOfYear());
-                        int checkInYear = checkIn.getCheckInDate().get(weekFields.weekBasedYear());
-                        return checkInWeek == currentWeek && checkInYear == currentYear;
-                    })
-                    .toList();
-                
-                if (checkInsThisWeek.isEmpty() && questService.canCheckIn(quest, quest.getUser(), today)) {
-                    String message = String.format("Don't forget to check in for your weekly quest '%s' this week! Deadline: %s",
-                        quest.getTitle(), endDate.format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy")));
-                    notificationService.createNotification(quest.getUser(), quest, 
-                        com.questgamification.domain.entity.NotificationType.QUEST_REMINDER, message);
-                    logger.info("Sent Sunday evening reminder for uncheck-in WEEKLY quest {}", quest.getId());
-                }
-            }
-        }
-        
-        logger.info("Completed evening quest reminder job. Processed {} active quests", activeQuests.size());
+        LocalDateTime firing = SchedulerLeaseService.latestFiring(EVENING_REMINDERS_CRON, LocalDateTime.now());
+        LocalDate today = firing.toLocalDate();
+        schedulerLeaseService.runPartitioned("evening-reminders", firing, partitions,
+            users -> questReminderService.sendEveningReminders(today, users));
     }
 
-    @Scheduled(cron = "0 0 14 * * *")
-    @CacheEvict(value = {"notifications", "notificationCount"}, allEntries = true)
+    @Scheduled(cron = MIDDAY_REMINDERS_CRON)
     public void sendMiddayQuestReminders() {
         logger.info("Running midday quest reminder job at {}", LocalDateTime.now());
-        LocalDate today = LocalDate.now();
-        List<Quest> activeQuests = questRepository.findAll().stream()
-            .filter(q -> q.getStatus() == QuestStatus.ACTIVE)
-            .toList();
-        
-        for (Quest quest : activeQuests) {
-            LocalDate endDate = quest.getEndDate();
-            long daysUntilDeadline = ChronoUnit.DAYS.between(today, endDate);
-            
-            if (daysUntilDeadline < 0) {
-                continue;
-            }
-            
-            if (daysUntilDeadline >= 2 && daysUntilDeadline <= 3) {
-                notificationService.createQuestExpiringNotification(quest);
-                logger.info("Sent midday expiring soon reminder for quest {} ({} days remaining)", quest.getId(), daysUntilDeadline);
-            }
-        }
-        
-        logger.info("Completed midday quest reminder job. Processed {} active quests", activeQuests.size());
+        LocalDateTime firing = SchedulerLeaseService.latestFiring(MIDDAY_REMINDERS_CRON, LocalDateTime.now());
+        LocalDate today = firing.toLocalDate();
+        schedulerLeaseService.runPartitioned("midday-reminders", firing, partitions,
+            users -> questReminderService.sendMiddayReminders(today, users));
     }
 
-    @Scheduled(cron = "0 0 18 * * 0")
-    @CacheEvict(value = {"notifications", "notificationCount"}, allEntries = true)
+    @Scheduled(cron = WEEKLY_SUMMARY_CRON)
     public void sendWeeklyProgressSummary() {
         logger.info("Running weekly progress summary job at {}", LocalDateTime.now());
-        
-        List<Quest> activeQuests = questRepository.findAll().stream()
-            .filter(q -> q.getStatus() == QuestStatus.ACTIVE)
-            .toList();
-        
-        for (Quest quest : activeQuests) {
-            List<CheckIn> checkIns = checkInRepository.findByQuestAndUser(quest, quest.getUser());
-            long totalCheckIns = checkIns.size();
-            int goal = quest.getCheckInGoal();
-            int progressPercent = (int) Math.min(100, (totalCheckIns * 100.0 / goal));
-            
-            String message = String.format(
-                "Weekly Progress Update for '%s': %d/%d check-ins completed (%d%%). Deadline: %s",
-                quest.getTitle(), totalCheckIns, goal, progressPercent,
-                quest.getEndDate().format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy"))
-            );
-            
-            notificationService.createNotification(quest.getUser(), quest, 
-                com.questgamification.domain.entity.NotificationType.SYSTEM, message);
-            logger.info("Sent weekly progress summary for quest {}", quest.getId());
+        LocalDateTime firing = SchedulerLeaseService.latestFiring(WEEKLY_SUMMARY_CRON, LocalDateTime.now());
+        LocalDate today = firing.toLocalDate();
+        schedulerLeaseService.runPartitioned("weekly-summary", firing, partitions,
+            users -> questReminderService.sendWeeklyProgressSummary(today, users));
+    }
+
+    // A no-op once the checkpoint exists; only the first node to start after the upgrade walks the table.
+    // A failure leaves the checkpoint unset, so the next node to start tries again.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCheckInCounters() {
+        try {
+            schedulerLeaseService.runExclusively(QuestProgressReconciler.BACKFILL_JOB, questProgressReconciler::backfillOnce);
+        } catch (RuntimeException e) {
+            logger.error("Check-in counter backfill failed: {}", e.getMessage(), e);
         }
-        
-        logger.info("Completed weekly progress summary job. Processed {} active quests", activeQuests.size());
     }
-}
 
+    @Scheduled(cron = "0 30 3 * * *")
+    public void reconcileQuestProgress() {
+        logger.info("Running quest progress reconciliation at {}", LocalDateTime.now());
+        schedulerLeaseService.runExclusively("quest-progress-reconcile", questProgressReconciler::reconcile);
+    }
+
+    @Scheduled(cron = "${quest.notifications.retention.cron:0 15 3 * * *}")
+    public void purgeOldNotifications() {
+        logger.info("Running notification retention job at {}", LocalDateTime.now());
+        schedulerLeaseService.runExclusively("notification-retention", notificationRetentionService::purge);
+    }
+
+    // Counters live in each node's memory, so every node reconciles its own without taking a lease
+    @Scheduled(fixedDelayString = "${quest.notifications.unread-counter.reconcile-interval:5m}")
+    public void reconcileUnreadNotificationCounters() {
+        unreadNotificationCounter.reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${quest.notifications.stream.heartbeat-interval:25s}")
+    public void sendNotificationStreamHeartbeats() {
+        notificationStreamRegistry.heartbeat();
+    }
+
+    // One node ships at a time so an event is never sent twice concurrently; the lease's minimum hold sets the floor
+    @Scheduled(fixedDelayString = "${quest.analytics.shipper.interval:30s}")
+    public void shipAnalyticsEvents() {
+        schedulerLeaseService.runExclusively("analytics-shipper", analyticsShipper::ship);
+    }
+}
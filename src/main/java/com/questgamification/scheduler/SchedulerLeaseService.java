@@ -0,0 +1,156 @@
+package com.questgamification.scheduler;
+
+import com.questgamification.domain.dto.UserIdRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Component
+public class SchedulerLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLeaseService.class);
+
+    // All timestamps come from the database clock so node clock skew cannot hand out a lease twice.
+    private static final String ACQUIRE_SQL =
+        "INSERT INTO scheduler_leases (name, owner, locked_at, locked_until) " +
+        "VALUES (?, ?, now(), now() + (? * interval '1 millisecond')) " +
+        "ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, locked_at = EXCLUDED.locked_at, " +
+        "locked_until = EXCLUDED.locked_until WHERE scheduler_leases.locked_until <= now()";
+
+    // Partitions of a cron firing are claimed once per firing: a node whose trigger runs late finds the partitions
+    // already completed for that firing and skips them, however long after the minimum hold it arrives.
+    private static final String ACQUIRE_FIRING_SQL =
+        "INSERT INTO scheduler_leases (name, owner, locked_at, locked_until) " +
+        "VALUES (?, ?, now(), now() + (? * interval '1 millisecond')) " +
+        "ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, locked_at = EXCLUDED.locked_at, " +
+        "locked_until = EXCLUDED.locked_until WHERE scheduler_leases.locked_until <= now() " +
+        "AND (scheduler_leases.completed_firing IS NULL OR scheduler_leases.completed_firing < ?)";
+
+    private static final String COMPLETE_SQL =
+        "UPDATE scheduler_leases SET completed_firing = ?, " +
+        "locked_until = GREATEST(now(), locked_at + (? * interval '1 millisecond')) WHERE name = ? AND owner = ?";
+
+    private static final String RELEASE_SQL =
+        "UPDATE scheduler_leases SET locked_until = GREATEST(now(), locked_at + (? * interval '1 millisecond')) " +
+        "WHERE name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final Duration lockAtMostFor;
+    private final Duration lockAtLeastFor;
+
+    public SchedulerLeaseService(JdbcTemplate jdbcTemplate,
+                                 @Value("${quest.scheduler.node-id:}") String nodeId,
+                                 @Value("${quest.scheduler.lock-at-most-for:30m}") Duration lockAtMostFor,
+                                 @Value("${quest.scheduler.lock-at-least-for:30s}") Duration lockAtLeastFor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.lockAtMostFor = lockAtMostFor;
+        this.lockAtLeastFor = lockAtLeastFor;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean runExclusively(String jobName, Runnable task) {
+        if (!tryAcquire(jobName)) {
+            logger.debug("Skipping job {} - lease held by another node", jobName);
+            return false;
+        }
+        try {
+            task.run();
+        } finally {
+            release(jobName);
+        }
+        return true;
+    }
+
+    // The firing is the scheduled time this run belongs to, not when the trigger actually ran on this node
+    public int runPartitioned(String jobName, LocalDateTime firing, int partitions, Consumer<UserIdRange> task) {
+        // Start at a node-specific partition so nodes that fire together spread out instead of
+        // all contending for partition 0 first.
+        int start = Math.floorMod(nodeId.hashCode(), partitions);
+        int processed = 0;
+        for (int i = 0; i < partitions; i++) {
+            int partition = (start + i) % partitions;
+            String leaseName = jobName + ":" + partition;
+            if (!tryAcquire(leaseName, firing)) {
+                continue;
+            }
+            boolean completed = false;
+            try {
+                task.accept(UserIdRange.partition(partition, partitions));
+                processed++;
+                completed = true;
+            } finally {
+                // A failed partition is only released, so another node (or the next firing) can still pick it up
+                if (completed) {
+                    complete(leaseName, firing);
+                } else {
+                    release(leaseName);
+                }
+            }
+        }
+        logger.info("Node {} processed {}/{} partitions of job {} for firing {}", nodeId, processed, partitions, jobName, firing);
+        return processed;
+    }
+
+    // Most recent time at or before now that the cron expression fires
+    public static LocalDateTime latestFiring(String cron, LocalDateTime now) {
+        CronExpression expression = CronExpression.parse(cron);
+        LocalDateTime latest = null;
+        LocalDateTime next = expression.next(now.minusDays(8));
+        while (next != null && !next.isAfter(now)) {
+            latest = next;
+            next = expression.next(next);
+        }
+        if (latest == null) {
+            throw new IllegalArgumentException("Cron expression " + cron + " does not fire within a week: " + now);
+        }
+        return latest;
+    }
+
+    boolean tryAcquire(String leaseName) {
+        return jdbcTemplate.update(ACQUIRE_SQL, leaseName, nodeId, lockAtMostFor.toMillis()) > 0;
+    }
+
+    boolean tryAcquire(String leaseName, LocalDateTime firing) {
+        return jdbcTemplate.update(ACQUIRE_FIRING_SQL, leaseName, nodeId, lockAtMostFor.toMillis(), firing) > 0;
+    }
+
+    void complete(String leaseName, LocalDateTime firing) {
+        try {
+            jdbcTemplate.update(COMPLETE_SQL, firing, lockAtLeastFor.toMillis(), leaseName, nodeId);
+        } catch (Exception e) {
+            logger.warn("Failed to mark lease {} complete for firing {}: {}", leaseName, firing, e.getMessage());
+        }
+    }
+
+    void release(String leaseName) {
+        try {
+            jdbcTemplate.update(RELEASE_SQL, lockAtLeastFor.toMillis(), leaseName, nodeId);
+        } catch (Exception e) {
+            logger.warn("Failed to release lease {}; it will expire on its own: {}", leaseName, e.getMessage());
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
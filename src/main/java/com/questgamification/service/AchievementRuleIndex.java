@@ -0,0 +1,86 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.Achievement;
+import com.questgamification.domain.entity.AchievementType;
+import com.questgamification.repository.AchievementRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+@Component
+public class AchievementRuleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AchievementRuleIndex.class);
+
+    private final AchievementRepository achievementRepository;
+    private volatile Map<AchievementType, NavigableMap<Integer, List<Achievement>>> rules;
+
+    public AchievementRuleIndex(AchievementRepository achievementRepository) {
+        this.achievementRepository = achievementRepository;
+    }
+
+    // Achievements are seeded by a CommandLineRunner, which has finished by the time the app is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        Map<AchievementType, NavigableMap<Integer, List<Achievement>>> index = new EnumMap<>(AchievementType.class);
+        List<Achievement> achievements = achievementRepository.findAll();
+        for (Achievement achievement : achievements) {
+            if (achievement.getAchievementType() == null || achievement.getRequirementValue() == null) {
+                continue;
+            }
+            index.computeIfAbsent(achievement.getAchievementType(), type -> new TreeMap<>())
+                .computeIfAbsent(achievement.getRequirementValue(), threshold -> new ArrayList<>())
+                .add(achievement);
+        }
+        rules = index;
+        logger.info("Indexed {} achievement rules across {} metrics", achievements.size(), index.size());
+    }
+
+    // Rules whose threshold lies in (previous, current], i.e. the ones this change just satisfied
+    public List<Achievement> crossed(AchievementType type, long previous, long current) {
+        if (current <= previous) {
+            return List.of();
+        }
+        NavigableMap<Integer, List<Achievement>> thresholds = rulesFor(type);
+        if (thresholds.isEmpty()) {
+            return List.of();
+        }
+        return flatten(thresholds.subMap(clamp(previous), false, clamp(current), true).values());
+    }
+
+    public List<Achievement> satisfied(AchievementType type, long current) {
+        return flatten(rulesFor(type).headMap(clamp(current), true).values());
+    }
+
+    private NavigableMap<Integer, List<Achievement>> rulesFor(AchievementType type) {
+        Map<AchievementType, NavigableMap<Integer, List<Achievement>>> index = rules;
+        if (index == null) {
+            refresh();
+            index = rules;
+        }
+        return index.getOrDefault(type, new TreeMap<>());
+    }
+
+    private static int clamp(long value) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+    }
+
+    private static List<Achievement> flatten(Collection<List<Achievement>> groups) {
+        if (groups.isEmpty()) {
+            return List.of();
+        }
+        List<Achievement> result = new ArrayList<>();
+        groups.forEach(result::addAll);
+        return result;
+    }
+}
@@ -3,6 +3,7 @@ package com.questgamification.service;
 import com.questgamification.domain.entity.Achievement;
 import com.questgamification.domain.entity.AchievementType;
 import com.questgamification.domain.entity.User;
+import com.questgamification.domain.entity.UserStats;
 import com.questgamification.repository.AchievementRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +11,11 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class AchievementService {
@@ -18,10 +23,18 @@ public class AchievementService {
     private static final Logger logger = LoggerFactory.getLogger(AchievementService.class);
     private final AchievementRepository achievementRepository;
     private final NotificationService notificationService;
+    private final UserStatsService userStatsService;
+    private final AchievementRuleIndex achievementRuleIndex;
+    private final StreakService streakService;
 
-    public AchievementService(AchievementRepository achievementRepository, NotificationService notificationService) {
+    public AchievementService(AchievementRepository achievementRepository, NotificationService notificationService,
+                              UserStatsService userStatsService, AchievementRuleIndex achievementRuleIndex,
+                              StreakService streakService) {
         this.achievementRepository = achievementRepository;
         this.notificationService = notificationService;
+        this.userStatsService = userStatsService;
+        this.achievementRuleIndex = achievementRuleIndex;
+        this.streakService = streakService;
     }
 
     @Cacheable(value = "achievements")
@@ -34,48 +47,58 @@ public class AchievementService {
         return achievementRepository.findByAchievementType(type);
     }
 
+    // Evaluates only the rules of one metric whose thresholds this change crossed; the caller persists the user
+    @Transactional
+    public List<Achievement> onMetricChanged(User user, AchievementType type, long previous, long current) {
+        List<Achievement> candidates = achievementRuleIndex.crossed(type, previous, current);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        return award(user, candidates);
+    }
+
+    // Full repair pass against the maintained counters, for users whose grants may have been missed
     @Transactional
     public void checkAndAwardAchievements(User user) {
         logger.info("Checking achievements for user {}", user.getUsername());
-        
-        List<Achievement> allAchievements = achievementRepository.findAll();
-        
-        for (Achievement achievement : allAchievements) {
-            if (user.getAchievements().contains(achievement)) {
-                continue;
-            }
 
-            boolean shouldAward = false;
-            switch (achievement.getAchievementType()) {
-                case QUESTS_COMPLETED:
-                    shouldAward = user.getQuests().stream()
-                        .filter(q -> q.getStatus() == com.questgamification.domain.entity.QuestStatus.COMPLETED)
-                        .count() >= achievement.getRequirementValue();
-                    break;
-                case TOTAL_XP_EARNED:
-                    shouldAward = user.getExperiencePoints() >= achievement.getRequirementValue();
-                    break;
-                case LEVEL_REACHED:
-                    shouldAward = user.getLevel() >= achievement.getRequirementValue();
-                    break;
-                default:
-                    logger.debug("Achievement type {} not handled", achievement.getAchievementType());
-                    break;
+        UserStats stats = userStatsService.getOrBuild(user.getId());
+        List<Achievement> candidates = new ArrayList<>();
+        candidates.addAll(achievementRuleIndex.satisfied(AchievementType.QUESTS_COMPLETED, valueOf(stats.getCompletedQuests())));
+        candidates.addAll(achievementRuleIndex.satisfied(AchievementType.TOTAL_XP_EARNED, user.getExperiencePoints()));
+        candidates.addAll(achievementRuleIndex.satisfied(AchievementType.LEVEL_REACHED, user.getLevel()));
+        candidates.addAll(achievementRuleIndex.satisfied(AchievementType.STREAK_DAYS, streakService.getLongestStreak(user.getId())));
+        if (!candidates.isEmpty()) {
+            award(user, candidates);
+        }
+    }
+
+    private List<Achievement> award(User user, List<Achievement> candidates) {
+        Set<UUID> unlocked = user.getAchievements().stream()
+            .map(Achievement::getId)
+            .collect(Collectors.toSet());
+
+        List<Achievement> awarded = new ArrayList<>();
+        for (Achievement achievement : candidates) {
+            if (!unlocked.add(achievement.getId())) {
+                continue;
             }
+            user.getAchievements().add(achievement);
+            awarded.add(achievement);
+            userStatsService.achievementGranted(user.getId());
+            logger.info("Achievement '{}' awarded to user {}", achievement.getName(), user.getUsername());
 
-            if (shouldAward) {
-                user.getAchievements().add(achievement);
-                achievement.getUsers().add(user);
-                logger.info("Achievement '{}' awarded to user {}", achievement.getName(), user.getUsername());
-                
-                try {
-                    notificationService.createAchievementUnlockedNotification(user, achievement);
-                } catch (Exception e) {
-                    logger.error("Failed to create achievement notification for user {} and achievement {}: {}", 
-                        user.getUsername(), achievement.getName(), e.getMessage(), e);
-                }
+            try {
+                notificationService.createAchievementUnlockedNotification(user, achievement);
+            } catch (Exception e) {
+                logger.error("Failed to create achievement notification for user {} and achievement {}: {}",
+                    user.getUsername(), achievement.getName(), e.getMessage(), e);
             }
         }
+        return awarded;
     }
-}
 
+    private static long valueOf(Integer counter) {
+        return counter != null ? counter : 0L;
+    }
+}
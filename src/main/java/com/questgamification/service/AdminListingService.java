@@ -0,0 +1,98 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.AdminQuestRow;
+import com.questgamification.domain.dto.AdminUserRow;
+import com.questgamification.domain.dto.KeysetPage;
+import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.domain.entity.QuestType;
+import com.questgamification.domain.entity.Role;
+import com.questgamification.repository.QuestRepository;
+import com.questgamification.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+// Seek pagination for the admin tables: every page is one bounded query (plus one for user roles),
+// whatever the table size or page depth.
+@Service
+public class AdminListingService {
+
+    public static final String SORT_END_DATE = "endDate";
+    public static final String SORT_TITLE = "title";
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final LocalDate FIRST_DATE = LocalDate.of(1, 1, 1);
+
+    private final UserRepository userRepository;
+    private final QuestRepository questRepository;
+    private final int pageSize;
+
+    public AdminListingService(UserRepository userRepository, QuestRepository questRepository,
+                               @Value("${quest.admin.page-size:50}") int pageSize) {
+        this.userRepository = userRepository;
+        this.questRepository = questRepository;
+        this.pageSize = pageSize;
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<AdminUserRow> findUsers(String usernamePrefix, String afterUsername) {
+        String pattern = escapeLike(usernamePrefix == null ? "" : usernamePrefix.trim().toLowerCase(Locale.ROOT)) + "%";
+        List<AdminUserRow> rows = userRepository.findAdminPage(pattern,
+            afterUsername == null ? "" : afterUsername, PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<AdminUserRow> items = hasNext ? rows.subList(0, pageSize) : rows;
+        if (!items.isEmpty()) {
+            Map<UUID, AdminUserRow> byId = new HashMap<>();
+            items.forEach(row -> byId.put(row.getId(), row));
+            for (Object[] role : userRepository.findRolesByUserIds(byId.keySet())) {
+                byId.get((UUID) role[0]).getRoles().add((Role) role[1]);
+            }
+        }
+
+        String nextKey = hasNext ? items.get(items.size() - 1).getUsername() : null;
+        return new KeysetPage<>(items, nextKey, null);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<AdminQuestRow> findQuests(QuestStatus status, QuestType type, String username,
+                                                String sort, String afterKey, UUID afterId) {
+        EnumSet<QuestStatus> statuses = status != null ? EnumSet.of(status) : EnumSet.allOf(QuestStatus.class);
+        EnumSet<QuestType> types = type != null ? EnumSet.of(type) : EnumSet.allOf(QuestType.class);
+        String owner = username == null ? "" : username.trim();
+        UUID lastId = afterKey != null && afterId != null ? afterId : FIRST_ID;
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        boolean byTitle = SORT_TITLE.equals(sort);
+        List<AdminQuestRow> rows;
+        if (byTitle) {
+            rows = questRepository.findAdminPageByTitle(statuses, types, owner,
+                afterKey != null && afterId != null ? afterKey : "", lastId, limit);
+        } else {
+            rows = questRepository.findAdminPageByEndDate(statuses, types, owner,
+                afterKey != null && afterId != null ? LocalDate.parse(afterKey) : FIRST_DATE, lastId, limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<AdminQuestRow> items = hasNext ? rows.subList(0, pageSize) : rows;
+        if (!hasNext) {
+            return new KeysetPage<>(items, null, null);
+        }
+        AdminQuestRow last = items.get(items.size() - 1);
+        String nextKey = byTitle ? last.getTitle() : last.getEndDate().toString();
+        return new KeysetPage<>(items, nextKey, last.getId().toString());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
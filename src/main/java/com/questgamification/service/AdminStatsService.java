@@ -0,0 +1,61 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.repository.AchievementRepository;
+import com.questgamification.repository.QuestRepository;
+import com.questgamification.repository.RewardRepository;
+import com.questgamification.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class AdminStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminStatsService.class);
+    private final UserRepository userRepository;
+    private final QuestRepository questRepository;
+    private final RewardRepository rewardRepository;
+    private final AchievementRepository achievementRepository;
+
+    public AdminStatsService(UserRepository userRepository, QuestRepository questRepository,
+                             RewardRepository rewardRepository, AchievementRepository achievementRepository) {
+        this.userRepository = userRepository;
+        this.questRepository = questRepository;
+        this.rewardRepository = rewardRepository;
+        this.achievementRepository = achievementRepository;
+    }
+
+    @Cacheable(value = "adminStats", key = "'overview'")
+    @Transactional(readOnly = true)
+    public Map<String, Object> getOverview() {
+        logger.debug("Computing admin overview counters");
+
+        Map<QuestStatus, Long> questsByStatus = new EnumMap<>(QuestStatus.class);
+        for (QuestStatus status : QuestStatus.values()) {
+            questsByStatus.put(status, 0L);
+        }
+        long totalQuests = 0;
+        for (Object[] row : questRepository.countGroupedByStatus()) {
+            long count = (Long) row[1];
+            questsByStatus.put((QuestStatus) row[0], count);
+            totalQuests += count;
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalUsers", userRepository.count());
+        stats.put("totalQuests", totalQuests);
+        stats.put("activeQuests", questsByStatus.get(QuestStatus.ACTIVE));
+        stats.put("completedQuests", questsByStatus.get(QuestStatus.COMPLETED));
+        stats.put("expiredQuests", questsByStatus.get(QuestStatus.EXPIRED));
+        stats.put("totalRewards", rewardRepository.count());
+        stats.put("totalAchievements", achievementRepository.count());
+        return stats;
+    }
+}
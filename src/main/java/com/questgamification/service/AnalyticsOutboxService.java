@@ -0,0 +1,32 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.AnalyticsOutboxEvent;
+import com.questgamification.repository.AnalyticsOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Service
+public class AnalyticsOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsOutboxService.class);
+    private final AnalyticsOutboxRepository analyticsOutboxRepository;
+
+    public AnalyticsOutboxService(AnalyticsOutboxRepository analyticsOutboxRepository) {
+        this.analyticsOutboxRepository = analyticsOutboxRepository;
+    }
+
+    // Joins the caller's transaction, so the event exists if and only if the completion commits
+    @Transactional
+    public void recordQuestCompletion(UUID userId, UUID questId, Long experiencePoints) {
+        analyticsOutboxRepository.save(AnalyticsOutboxEvent.questCompletion(userId, questId, experiencePoints));
+        logger.debug("Queued quest completion analytics for quest {}", questId);
+    }
+
+    public long getPendingCount() {
+        return analyticsOutboxRepository.countPending();
+    }
+}
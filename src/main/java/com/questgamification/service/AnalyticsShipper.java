@@ -0,0 +1,127 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.AnalyticsOutboxEvent;
+import com.questgamification.repository.AnalyticsOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Delivers outbox events to the analytics service off the request path. Failed events stay in the outbox with an
+// exponentially growing retry delay; while the breaker is open nothing is sent and the outbox simply accumulates.
+@Service
+public class AnalyticsShipper {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsShipper.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final AnalyticsOutboxRepository analyticsOutboxRepository;
+    private final QuestAnalyticsClient questAnalyticsClient;
+    private final CircuitBreaker circuitBreaker;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration maxRuntime;
+
+    public AnalyticsShipper(AnalyticsOutboxRepository analyticsOutboxRepository,
+                            QuestAnalyticsClient questAnalyticsClient,
+                            @Value("${quest.analytics.shipper.batch-size:200}") int batchSize,
+                            @Value("${quest.analytics.shipper.initial-backoff:30s}") Duration initialBackoff,
+                            @Value("${quest.analytics.shipper.max-backoff:1h}") Duration maxBackoff,
+                            @Value("${quest.analytics.shipper.max-runtime:25s}") Duration maxRuntime,
+                            @Value("${quest.analytics.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                            @Value("${quest.analytics.circuit-breaker.open-duration:1m}") Duration openDuration) {
+        this.analyticsOutboxRepository = analyticsOutboxRepository;
+        this.questAnalyticsClient = questAnalyticsClient;
+        this.circuitBreaker = new CircuitBreaker("analytics-shipper", failureThreshold, openDuration);
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxRuntime = maxRuntime;
+    }
+
+    public int ship() {
+        long deadline = System.nanoTime() + maxRuntime.toNanos();
+        int shipped = 0;
+        while (System.nanoTime() < deadline) {
+            List<AnalyticsOutboxEvent> due = analyticsOutboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                break;
+            }
+            int sent = shipBatch(due);
+            shipped += sent;
+            // A partial batch means the breaker tripped or retries were scheduled; leave the rest for the next run
+            if (sent < due.size() || due.size() < batchSize) {
+                break;
+            }
+        }
+        if (shipped > 0) {
+            logger.info("Shipped {} analytics events", shipped);
+        }
+        return shipped;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private int shipBatch(List<AnalyticsOutboxEvent> events) {
+        List<UUID> delivered = new ArrayList<>(events.size());
+        List<AnalyticsOutboxEvent> failed = new ArrayList<>();
+        for (AnalyticsOutboxEvent event : events) {
+            if (!circuitBreaker.allowRequest()) {
+                logger.debug("Analytics circuit is open; deferring {} events", events.size() - delivered.size() - failed.size());
+                break;
+            }
+            try {
+                send(event);
+                circuitBreaker.recordSuccess();
+                delivered.add(event.getId());
+            } catch (Exception e) {
+                circuitBreaker.recordFailure();
+                scheduleRetry(event, e);
+                failed.add(event);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            analyticsOutboxRepository.deleteAllByIdInBatch(delivered);
+        }
+        if (!failed.isEmpty()) {
+            analyticsOutboxRepository.saveAll(failed);
+            logger.warn("Failed to ship {} analytics events; they will be retried", failed.size());
+        }
+        return delivered.size();
+    }
+
+    // The analytics service has no batch endpoint, so events in a batch are still sent one call at a time
+    private void send(AnalyticsOutboxEvent event) {
+        switch (event.getEventType()) {
+            case QUEST_COMPLETION -> questAnalyticsClient.recordQuestCompletion(
+                event.getUserId(), event.getQuestId(), event.getExperiencePoints());
+        }
+    }
+
+    private void scheduleRetry(AnalyticsOutboxEvent event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+        String message = String.valueOf(e.getMessage());
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+    }
+
+    // Doubles per attempt up to the cap, with +/-20% jitter so a recovering service is not hit by one synchronized wave
+    Duration backoff(int attempts) {
+        long base = initialBackoff.toMillis();
+        long capped = attempts >= 31 ? maxBackoff.toMillis() : Math.min(maxBackoff.toMillis(), base << Math.max(0, attempts - 1));
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (capped * jitter));
+    }
+}
@@ -0,0 +1,73 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.NotificationDraft;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class NotificationBatchWriter {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (id, user_id, quest_id, message, type, is_read, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    private final NotificationRelay notificationRelay;
+    private final int batchSize;
+
+    public NotificationBatchWriter(JdbcTemplate jdbcTemplate, UnreadNotificationCounter unreadNotificationCounter,
+                                   NotificationStreamRegistry notificationStreamRegistry,
+                                   NotificationRelay notificationRelay,
+                                   @Value("${quest.notifications.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.notificationStreamRegistry = notificationStreamRegistry;
+        this.notificationRelay = notificationRelay;
+        this.batchSize = batchSize;
+    }
+
+    public int write(List<NotificationDraft> drafts) {
+        if (drafts.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, drafts, batchSize, (ps, draft) -> {
+            ps.setObject(1, draft.getId());
+            ps.setObject(2, draft.getUserId());
+            ps.setObject(3, draft.getQuestId());
+            ps.setString(4, draft.getMessage());
+            ps.setString(5, draft.getType().name());
+            ps.setBoolean(6, false);
+            ps.setObject(7, draft.getCreatedAt());
+        });
+
+        Map<UUID, Integer> addedPerUser = new HashMap<>();
+        drafts.forEach(draft -> addedPerUser.merge(draft.getUserId(), 1, Integer::sum));
+        List<NotificationDraft> written = List.copyOf(drafts);
+        Runnable announce = () -> {
+            unreadNotificationCounter.added(addedPerUser);
+            notificationStreamRegistry.notificationsCreated(written);
+            notificationRelay.changed(addedPerUser.keySet());
+        };
+        // Rows written inside a caller's transaction may still roll back, so counts and pushes wait for the commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    announce.run();
+                }
+            });
+        } else {
+            announce.run();
+        }
+        return drafts.size();
+    }
+}
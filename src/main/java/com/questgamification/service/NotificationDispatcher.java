@@ -0,0 +1,230 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.NotificationDraft;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Producers hand notifications to a bounded in-memory queue that a single writer thread drains in JDBC batches.
+// Queue slots are reserved before the producer's transaction commits; whatever does not fit is written inside
+// that transaction instead, so a full queue slows producers down rather than dropping anything.
+@Component
+public class NotificationDispatcher implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+    private static final long POLL_MILLIS = 200;
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+
+    private final NotificationBatchWriter notificationBatchWriter;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+    private final int maxWriteAttempts;
+    private final Semaphore capacity;
+    private final BlockingQueue<NotificationDraft> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public NotificationDispatcher(NotificationBatchWriter notificationBatchWriter,
+                                  @Value("${quest.notifications.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${quest.notifications.batch-size:500}") int batchSize,
+                                  @Value("${quest.notifications.shutdown-timeout:30s}") Duration shutdownTimeout,
+                                  @Value("${quest.notifications.max-write-attempts:5}") int maxWriteAttempts) {
+        this.notificationBatchWriter = notificationBatchWriter;
+        this.capacity = new Semaphore(queueCapacity);
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.maxWriteAttempts = maxWriteAttempts;
+    }
+
+    public void enqueue(NotificationDraft draft) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingForCurrentTransaction().drafts.add(draft);
+            return;
+        }
+        if (running && capacity.tryAcquire()) {
+            queue.add(draft);
+        } else {
+            notificationBatchWriter.write(List.of(draft));
+        }
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+        logger.info("Notification dispatcher started with capacity {}", capacity.availablePermits());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(shutdownTimeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Catches anything a producer committed after the worker's final drain
+        drainRemaining();
+        logger.info("Notification dispatcher stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server so in-flight requests can still enqueue while it drains
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                NotificationDraft first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<NotificationDraft> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        drainRemaining();
+    }
+
+    private synchronized void drainRemaining() {
+        while (!queue.isEmpty()) {
+            List<NotificationDraft> batch = new ArrayList<>(batchSize);
+            if (queue.drainTo(batch, batchSize) == 0) {
+                break;
+            }
+            flush(batch);
+        }
+    }
+
+    private void flush(List<NotificationDraft> batch) {
+        try {
+            write(batch);
+        } finally {
+            capacity.release(batch.size());
+        }
+    }
+
+    // Only transient failures (lost connections, lock timeouts) are retried, and only up to maxWriteAttempts.
+    // Anything else means some row in the batch can never be written, so the batch is split into single rows
+    // and only the rows that still fail are dropped.
+    private void write(List<NotificationDraft> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                notificationBatchWriter.write(batch);
+                return;
+            } catch (Exception e) {
+                if (!isTransient(e)) {
+                    if (batch.size() > 1) {
+                        logger.warn("Batch of {} notifications rejected, writing rows individually: {}",
+                            batch.size(), e.getMessage());
+                        batch.forEach(draft -> write(List.of(draft)));
+                    } else {
+                        NotificationDraft draft = batch.get(0);
+                        logger.error("Dropping {} notification for user {}: {}",
+                            draft.getType(), draft.getUserId(), e.getMessage(), e);
+                    }
+                    return;
+                }
+                if (attempt >= maxWriteAttempts) {
+                    logger.error("Dropping {} notifications after {} failed attempts: {}",
+                        batch.size(), attempt, e.getMessage(), e);
+                    return;
+                }
+                logger.warn("Failed to write {} notifications (attempt {} of {}), retrying: {}",
+                    batch.size(), attempt, maxWriteAttempts, e.getMessage());
+                sleepQuietly(RETRY_BACKOFF_MILLIS * attempt);
+            }
+        }
+    }
+
+    private static boolean isTransient(Exception e) {
+        return e instanceof TransientDataAccessException
+            || e instanceof RecoverableDataAccessException
+            || e instanceof DataAccessResourceFailureException;
+    }
+
+    private PendingNotifications pendingForCurrentTransaction() {
+        PendingNotifications pending = (PendingNotifications) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingNotifications();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class PendingNotifications implements TransactionSynchronization {
+
+        private final List<NotificationDraft> drafts = new ArrayList<>();
+        private int reserved;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            while (running && reserved < drafts.size() && capacity.tryAcquire()) {
+                reserved++;
+            }
+            if (reserved < drafts.size()) {
+                // Backpressure: overflow is written in the producer's own transaction and commits atomically with it
+                notificationBatchWriter.write(drafts.subList(reserved, drafts.size()));
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            queue.addAll(drafts.subList(0, reserved));
+            reserved = 0;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(NotificationDispatcher.this);
+            if (reserved > 0) {
+                capacity.release(reserved);
+            }
+        }
+    }
+}
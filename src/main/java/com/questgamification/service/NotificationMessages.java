@@ -0,0 +1,46 @@
+package com.questgamification.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+public final class NotificationMessages {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private NotificationMessages() {
+    }
+
+    public static String expiringSoon(String title, LocalDate endDate) {
+        return String.format("Quest '%s' is expiring soon! Deadline: %s", title, endDate.format(DATE_FORMATTER));
+    }
+
+    public static String expired(String title, LocalDate endDate) {
+        return String.format("Quest '%s' has expired on %s", title, endDate.format(DATE_FORMATTER));
+    }
+
+    public static String completed(String title, Long experienceReward) {
+        return String.format("Congratulations! You completed the quest '%s'! You earned a total of %d XP (given per check-in).",
+            title, experienceReward);
+    }
+
+    public static String reminder(String title, LocalDate endDate, int daysUntilDeadline) {
+        return String.format("Reminder: Quest '%s' deadline is in %d day(s)! (Deadline: %s)",
+            title, daysUntilDeadline, endDate.format(DATE_FORMATTER));
+    }
+
+    public static String dailyCheckInReminder(String title, LocalDate endDate) {
+        return String.format("Don't forget to check in for your daily quest '%s' today! Deadline: %s",
+            title, endDate.format(DATE_FORMATTER));
+    }
+
+    public static String weeklyCheckInReminder(String title, LocalDate endDate) {
+        return String.format("Don't forget to check in for your weekly quest '%s' this week! Deadline: %s",
+            title, endDate.format(DATE_FORMATTER));
+    }
+
+    public static String weeklyProgressSummary(String title, long totalCheckIns, int goal, LocalDate endDate) {
+        int progressPercent = (int) Math.min(100, (totalCheckIns * 100.0 / goal));
+        return String.format("Weekly Progress Update for '%s': %d/%d check-ins completed (%d%%). Deadline: %s",
+            title, totalCheckIns, goal, progressPercent, endDate.format(DATE_FORMATTER));
+    }
+}
@@ -0,0 +1,76 @@
+package com.questgamification.service;
+
+import com.questgamification.cache.CacheInvalidationBus;
+import com.questgamification.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Tells the other nodes whose notifications changed, as bare user ids over the cache invalidation bus. A receiving
+// node drops its unread counter for each user and, only if that user has a stream open there, loads what the
+// stream has not seen yet and pushes it with a fresh count. Users without a stream cost one cache invalidation.
+@Component
+public class NotificationRelay {
+
+    static final String CHANGED_TOPIC = "notifications.changed";
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationRepository notificationRepository;
+    private final int catchUpLimit;
+
+    public NotificationRelay(CacheInvalidationBus cacheInvalidationBus,
+                             NotificationStreamRegistry notificationStreamRegistry,
+                             UnreadNotificationCounter unreadNotificationCounter,
+                             NotificationRepository notificationRepository,
+                             @Value("${quest.notifications.page-size:20}") int catchUpLimit) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.notificationStreamRegistry = notificationStreamRegistry;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.notificationRepository = notificationRepository;
+        this.catchUpLimit = catchUpLimit;
+        cacheInvalidationBus.subscribe(CHANGED_TOPIC, this::onRemoteChange);
+    }
+
+    // For callers that have already committed
+    public void changed(Collection<UUID> userIds) {
+        List<String> items = userIds.stream().distinct().map(UUID::toString).toList();
+        if (!items.isEmpty()) {
+            cacheInvalidationBus.broadcast(CHANGED_TOPIC, items);
+        }
+    }
+
+    public void changedAfterCommit(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changed(List.of(userId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changed(List.of(userId));
+            }
+        });
+    }
+
+    void onRemoteChange(String item) {
+        UUID userId = UUID.fromString(item);
+        unreadNotificationCounter.invalidate(userId);
+        Optional<LocalDateTime> pushedUpTo = notificationStreamRegistry.getPushedUpTo(userId);
+        if (pushedUpTo.isEmpty()) {
+            return;
+        }
+        notificationStreamRegistry.pushNotifications(userId,
+            notificationRepository.findUnreadCreatedAfter(userId, pushedUpTo.get(), PageRequest.of(0, catchUpLimit)));
+        notificationStreamRegistry.unreadChanged(userId, unreadNotificationCounter.get(userId));
+    }
+}
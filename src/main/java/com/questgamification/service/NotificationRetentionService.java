@@ -0,0 +1,101 @@
+package com.questgamification.service;
+
+import com.questgamification.config.NotificationRetentionProperties;
+import com.questgamification.domain.entity.NotificationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+// Keeps the notifications table bounded. Every statement touches at most one batch of rows and runs in its own
+// short transaction, with a pause in between, so the purge never holds locks long enough to stall live traffic.
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    // Only the newest reminder per quest is worth keeping; older ones repeat the same message with a stale countdown
+    private static final String COMPACT_SELECT_SQL =
+        "SELECT n.id FROM notifications n WHERE n.type IN ('QUEST_REMINDER', 'QUEST_EXPIRING_SOON') " +
+        "AND n.quest_id IS NOT NULL AND EXISTS (SELECT 1 FROM notifications newer WHERE newer.user_id = n.user_id " +
+        "AND newer.quest_id = n.quest_id AND newer.type = n.type AND newer.created_at > n.created_at) LIMIT ?";
+
+    private static final String EXPIRED_SELECT_SQL =
+        "SELECT id FROM notifications WHERE type = ? AND created_at < ? LIMIT ?";
+
+    private static final String ARCHIVE_SQL =
+        "INSERT INTO notifications_archive (id, user_id, quest_id, message, type, is_read, created_at, archived_at) " +
+        "SELECT id, user_id, quest_id, message, type, is_read, created_at, now() FROM notifications " +
+        "WHERE id IN (%s) ON CONFLICT (id) DO UPDATE SET archived_at = EXCLUDED.archived_at";
+
+    private static final String DELETE_SQL = "DELETE FROM notifications WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationRetentionProperties properties;
+
+    public NotificationRetentionService(JdbcTemplate jdbcTemplate, NotificationRetentionProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    public int purge() {
+        if (!properties.isEnabled()) {
+            logger.debug("Notification retention is disabled");
+            return 0;
+        }
+        long deadline = System.nanoTime() + properties.getMaxRuntime().toNanos();
+        LocalDateTime now = LocalDateTime.now();
+
+        int compacted = runBatches(COMPACT_SELECT_SQL, deadline, properties.getBatchSize());
+        int expired = 0;
+        for (NotificationType type : NotificationType.values()) {
+            LocalDateTime cutoff = now.minus(properties.ttlFor(type));
+            expired += runBatches(EXPIRED_SELECT_SQL, deadline, type.name(), cutoff, properties.getBatchSize());
+        }
+
+        if (System.nanoTime() >= deadline) {
+            logger.warn("Notification retention hit its {} time budget; the rest is picked up on the next run",
+                properties.getMaxRuntime());
+        }
+        logger.info("Notification retention removed {} repeated reminders and {} expired notifications{}",
+            compacted, expired, properties.isArchive() ? " (archived)" : "");
+        return compacted + expired;
+    }
+
+    private int runBatches(String selectSql, long deadline, Object... args) {
+        int removed = 0;
+        while (System.nanoTime() < deadline) {
+            int batch = removeBatch(selectSql, args);
+            removed += batch;
+            if (batch < properties.getBatchSize()) {
+                break;
+            }
+            pause();
+        }
+        return removed;
+    }
+
+    private int removeBatch(String selectSql, Object[] args) {
+        String ids = "SELECT id FROM (" + selectSql + ") batch";
+        if (properties.isArchive()) {
+            // One statement moves the batch, so a row is never deleted without its archive copy
+            return jdbcTemplate.update("WITH archived AS (" + String.format(ARCHIVE_SQL, ids) + " RETURNING id) " +
+                String.format(DELETE_SQL, "SELECT id FROM archived"), args);
+        }
+        return jdbcTemplate.update(String.format(DELETE_SQL, ids), args);
+    }
+
+    private void pause() {
+        long millis = properties.getPauseBetweenBatches().toMillis();
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.NotificationDraft;
+import com.questgamification.domain.dto.NotificationView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Open SSE connections per user on this node. Idle connections cost only their emitter: no request thread is held,
+// and the only periodic work is a heartbeat comment. Sends run on a small pool so a slow client never stalls the
+// notification writer; if that pool backs up, pushes are dropped and the client catches up on its next reconnect.
+// Pushes for streams held by other nodes go through NotificationRelay.
+@Component
+public class NotificationStreamRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamRegistry.class);
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_EVENT = "unread";
+
+    private final Map<UUID, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    // Newest notification createdAt pushed to each connected user, so a relay from another node can load just the rest
+    private final Map<UUID, LocalDateTime> pushedUpTo = new ConcurrentHashMap<>();
+    private final Duration emitterTimeout;
+    private final ExecutorService sender;
+    private final AtomicBoolean heartbeatInProgress = new AtomicBoolean();
+
+    public NotificationStreamRegistry(@Value("${quest.notifications.stream.timeout:30m}") Duration emitterTimeout,
+                                      @Value("${quest.notifications.stream.sender-threads:4}") int senderThreads,
+                                      @Value("${quest.notifications.stream.sender-queue:10000}") int senderQueue) {
+        this.emitterTimeout = emitterTimeout;
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(senderQueue), runnable -> {
+                Thread thread = new Thread(runnable, "notification-stream");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    public SseEmitter subscribe(UUID userId, long unreadCount) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        emitters.compute(userId, (id, userEmitters) -> {
+            Set<SseEmitter> updated = userEmitters != null ? userEmitters : ConcurrentHashMap.<SseEmitter>newKeySet();
+            updated.add(emitter);
+            pushedUpTo.putIfAbsent(id, LocalDateTime.now());
+            return updated;
+        });
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+        send(userId, emitter, () -> SseEmitter.event().name(UNREAD_EVENT).data(unreadCount));
+        return emitter;
+    }
+
+    public boolean isConnected(UUID userId) {
+        return emitters.containsKey(userId);
+    }
+
+    public int getConnectionCount() {
+        return emitters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public void notificationsCreated(List<NotificationDraft> drafts) {
+        for (NotificationDraft draft : drafts) {
+            pushNotification(draft.getUserId(), new NotificationView(draft.getId(), draft.getType(),
+                draft.getMessage(), draft.getCreatedAt(), false, draft.getQuestId(), null));
+        }
+    }
+
+    public void pushNotifications(UUID userId, List<NotificationView> views) {
+        views.forEach(view -> pushNotification(userId, view));
+    }
+
+    public Optional<LocalDateTime> getPushedUpTo(UUID userId) {
+        return Optional.ofNullable(pushedUpTo.get(userId));
+    }
+
+    public void unreadChanged(UUID userId, long unreadCount) {
+        if (isConnected(userId)) {
+            publish(userId, () -> SseEmitter.event().name(UNREAD_EVENT).data(unreadCount));
+        }
+    }
+
+    // Detects connections dropped without a clean close and keeps proxies from timing out idle streams. The sweep
+    // runs on the sender pool so slow clients never hold up the scheduler thread, and is skipped while one is
+    // still in progress.
+    public void heartbeat() {
+        if (!heartbeatInProgress.compareAndSet(false, true)) {
+            logger.debug("Skipping heartbeat: previous sweep is still running");
+            return;
+        }
+        try {
+            sender.execute(() -> {
+                try {
+                    emitters.forEach((userId, userEmitters) -> userEmitters.forEach(emitter ->
+                        send(userId, emitter, () -> SseEmitter.event().comment("heartbeat"))));
+                } finally {
+                    heartbeatInProgress.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            heartbeatInProgress.set(false);
+            logger.debug("Skipping heartbeat: sender queue is full");
+        }
+    }
+
+    // Completing the streams lets browsers reconnect to another node straight away
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+        pushedUpTo.clear();
+    }
+
+    private void pushNotification(UUID userId, NotificationView view) {
+        if (!isConnected(userId)) {
+            return;
+        }
+        pushedUpTo.computeIfPresent(userId, (id, at) -> view.getCreatedAt().isAfter(at) ? view.getCreatedAt() : at);
+        publish(userId, () -> SseEmitter.event().name(NOTIFICATION_EVENT).data(view, MediaType.APPLICATION_JSON));
+    }
+
+    private void publish(UUID userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        try {
+            sender.execute(() -> {
+                Set<SseEmitter> userEmitters = emitters.get(userId);
+                if (userEmitters != null) {
+                    userEmitters.forEach(emitter -> send(userId, emitter, event));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Dropping push for user {}: sender queue is full", userId);
+        }
+    }
+
+    // Event builders are single-use, so each emitter gets a freshly built event
+    private void send(UUID userId, SseEmitter emitter, Supplier<SseEmitter.SseEventBuilder> event) {
+        try {
+            emitter.send(event.get());
+        } catch (IOException | IllegalStateException e) {
+            remove(userId, emitter);
+        }
+    }
+
+    private void remove(UUID userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            if (userEmitters.isEmpty()) {
+                pushedUpTo.remove(id);
+                return null;
+            }
+            return userEmitters;
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.QuestStatus;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// The quests cache is laid out as one region per user (the QuestView list and per-status list keys below). Mutations
+// evict exactly the regions of the users they touch, so one user's writes never cost another user's cached lists.
+@Component
+public class QuestCacheEvictor {
+
+    static final String QUESTS_CACHE = "quests";
+    static final String STATS_CACHE = "stats";
+
+    private final CacheManager cacheManager;
+
+    public QuestCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // Must match the keys of QuestService.findByUser and findByUserAndStatus
+    static String userKey(UUID userId) {
+        return "user_" + userId;
+    }
+
+    static String userStatusKey(UUID userId, QuestStatus status) {
+        return userKey(userId) + "_status_" + status;
+    }
+
+    public void userQuestsChanged(UUID userId) {
+        Cache quests = cacheManager.getCache(QUESTS_CACHE);
+        if (quests != null) {
+            evictRegion(quests, userId);
+        }
+    }
+
+    // Bulk status changes also move the owners' quest counters, so their stats entries go too
+    public void questsChanged(Map<UUID, UUID> ownerByQuestId) {
+        Cache quests = cacheManager.getCache(QUESTS_CACHE);
+        Cache stats = cacheManager.getCache(STATS_CACHE);
+        Set<UUID> owners = new HashSet<>(ownerByQuestId.values());
+        if (quests != null) {
+            owners.forEach(userId -> evictRegion(quests, userId));
+        }
+        if (stats != null) {
+            evictStats(stats, owners);
+        }
+    }
+
+    private static void evictRegion(Cache quests, UUID userId) {
+        quests.evict(userKey(userId));
+        for (QuestStatus status : QuestStatus.values()) {
+            quests.evict(userStatusKey(userId, status));
+        }
+    }
+
+    private static void evictStats(Cache stats, Collection<UUID> userIds) {
+        userIds.forEach(userId -> stats.evict("user_" + userId));
+    }
+}
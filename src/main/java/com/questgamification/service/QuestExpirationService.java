@@ -0,0 +1,124 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.NotificationDraft;
+import com.questgamification.domain.entity.JobCheckpoint;
+import com.questgamification.domain.entity.NotificationType;
+import com.questgamification.repository.JobCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class QuestExpirationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestExpirationService.class);
+    static final String JOB_NAME = "quest-expiration";
+    private static final UUID FIRST_KEY = new UUID(0L, 0L);
+
+    private static final String CHUNK_UPPER_KEY_SQL =
+        "SELECT id FROM (SELECT id FROM quests WHERE status = 'ACTIVE' AND end_date < ? AND id > ? ORDER BY id LIMIT ?) chunk " +
+        "ORDER BY id DESC LIMIT 1";
+
+    private static final String EXPIRE_RANGE_SQL =
+        "UPDATE quests SET status = 'EXPIRED' WHERE status = 'ACTIVE' AND end_date < ? AND id > ? AND id <= ? " +
+        "RETURNING id, user_id, title, end_date";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final NotificationBatchWriter notificationBatchWriter;
+    private final QuestCacheEvictor questCacheEvictor;
+    private final UserStatsService userStatsService;
+    private final int chunkSize;
+
+    public QuestExpirationService(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  JobCheckpointRepository jobCheckpointRepository,
+                                  NotificationBatchWriter notificationBatchWriter,
+                                  QuestCacheEvictor questCacheEvictor,
+                                  UserStatsService userStatsService,
+                                  @Value("${quest.expiration.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.notificationBatchWriter = notificationBatchWriter;
+        this.questCacheEvictor = questCacheEvictor;
+        this.userStatsService = userStatsService;
+        this.chunkSize = chunkSize;
+    }
+
+    public int expireQuests(LocalDate cutoff) {
+        String runKey = cutoff.toString();
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(JOB_NAME)
+            .filter(existing -> runKey.equals(existing.getRunKey()) && !existing.getCompleted())
+            .orElseGet(() -> new JobCheckpoint(JOB_NAME, runKey));
+
+        if (checkpoint.getLastKey() != null) {
+            logger.info("Resuming quest expiration for {} after key {} ({} quests already expired)",
+                runKey, checkpoint.getLastKey(), checkpoint.getProcessedCount());
+        }
+
+        int expired = 0;
+        while (true) {
+            Integer chunkExpired = transactionTemplate.execute(status -> expireChunk(cutoff, checkpoint));
+            if (chunkExpired == null || chunkExpired < 0) {
+                break;
+            }
+            expired += chunkExpired;
+        }
+
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        jobCheckpointRepository.save(checkpoint);
+
+        if (expired > 0) {
+            logger.info("Expired {} quests with end date before {}", expired, cutoff);
+        }
+        return expired;
+    }
+
+    private int expireChunk(LocalDate cutoff, JobCheckpoint checkpoint) {
+        UUID lowerKey = checkpoint.getLastKey() != null ? checkpoint.getLastKey() : FIRST_KEY;
+        List<UUID> upperKeys = jdbcTemplate.queryForList(CHUNK_UPPER_KEY_SQL, UUID.class, cutoff, lowerKey, chunkSize);
+        if (upperKeys.isEmpty()) {
+            return -1;
+        }
+        UUID upperKey = upperKeys.get(0);
+
+        List<NotificationDraft> drafts = jdbcTemplate.query(EXPIRE_RANGE_SQL,
+            (rs, rowNum) -> {
+                String title = rs.getString("title");
+                LocalDate endDate = rs.getObject("end_date", LocalDate.class);
+                return new NotificationDraft(rs.getObject("user_id", UUID.class), rs.getObject("id", UUID.class),
+                    NotificationType.QUEST_EXPIRED, NotificationMessages.expired(title, endDate));
+            },
+            cutoff, lowerKey, upperKey);
+        notificationBatchWriter.write(drafts);
+
+        Map<UUID, Integer> expiredPerUser = new HashMap<>();
+        drafts.forEach(draft -> expiredPerUser.merge(draft.getUserId(), 1, Integer::sum));
+        userStatsService.questsExpired(expiredPerUser);
+        // Only the owners in this chunk lose cached quest lists; everyone else's stay warm
+        Map<UUID, UUID> ownerByQuestId = new HashMap<>();
+        drafts.forEach(draft -> ownerByQuestId.put(draft.getQuestId(), draft.getUserId()));
+        questCacheEvictor.questsChanged(ownerByQuestId);
+
+        checkpoint.setLastKey(upperKey);
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + drafts.size());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        jobCheckpointRepository.save(checkpoint);
+
+        logger.debug("Expired {} quests in key range ({}, {}]", drafts.size(), lowerKey, upperKey);
+        return drafts.size();
+    }
+}
@@ -0,0 +1,154 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.JobCheckpoint;
+import com.questgamification.repository.JobCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class QuestProgressReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestProgressReconciler.class);
+    private static final UUID FIRST_KEY = new UUID(0L, 0L);
+    public static final String BACKFILL_JOB = "check-in-counters-backfill";
+    private static final String BACKFILL_RUN_KEY = "v1";
+    private static final long BACKFILL_POLL_MILLIS = 500;
+
+    private static final String CHUNK_UPPER_KEY_SQL =
+        "SELECT id FROM (SELECT id FROM quest_progress WHERE id > ? ORDER BY id LIMIT ?) chunk ORDER BY id DESC LIMIT 1";
+
+    // Taken before aggregating: a check-in holding one of these rows commits first, and the UPDATE below (a new
+    // statement, so a new snapshot under READ COMMITTED) then counts its check_ins row instead of writing it back out
+    static final String LOCK_RANGE_SQL =
+        "SELECT id FROM quest_progress WHERE id > ? AND id <= ? ORDER BY id FOR UPDATE";
+
+    // Only rows whose counters drifted from check_ins are rewritten
+    private static final String RECONCILE_RANGE_SQL =
+        "UPDATE quest_progress qp SET check_in_count = s.total, last_check_in_date = s.last_date, " +
+        "progress_percentage = CASE WHEN q.check_in_goal IS NULL OR q.check_in_goal <= 0 THEN qp.progress_percentage " +
+        "WHEN s.total * 100 / q.check_in_goal >= 100 THEN 100 ELSE s.total * 100 / q.check_in_goal END, " +
+        "last_updated = now() " +
+        "FROM (SELECT p.id, COUNT(c.id) AS total, MAX(c.check_in_date) AS last_date FROM quest_progress p " +
+        "LEFT JOIN check_ins c ON c.quest_id = p.quest_id AND c.user_id = p.user_id " +
+        "WHERE p.id > ? AND p.id <= ? GROUP BY p.id) s, quests q " +
+        "WHERE qp.id = s.id AND q.id = qp.quest_id " +
+        "AND (qp.check_in_count IS DISTINCT FROM s.total OR qp.last_check_in_date IS DISTINCT FROM s.last_date)";
+
+    // Fills check_in_week for rows written before the column existed, a bounded batch per statement
+    private static final String BACKFILL_WEEK_SQL =
+        "UPDATE check_ins SET check_in_week = CAST(EXTRACT(ISOYEAR FROM check_in_date) * 100 + EXTRACT(WEEK FROM check_in_date) AS INTEGER) " +
+        "WHERE id IN (SELECT id FROM check_ins WHERE check_in_week IS NULL LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final int chunkSize;
+    private final Duration backfillWait;
+
+    private volatile boolean backfilled;
+
+    public QuestProgressReconciler(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   JobCheckpointRepository jobCheckpointRepository,
+                                   @Value("${quest.progress.reconcile-chunk-size:1000}") int chunkSize,
+                                   @Value("${quest.progress.backfill-wait:30s}") Duration backfillWait) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.chunkSize = chunkSize;
+        this.backfillWait = backfillWait;
+    }
+
+    // Legacy rows start with check_in_count 0, no last_check_in_date and no week key. One node fills them in once,
+    // and the checkpoint row keeps later restarts from walking the table again.
+    public void backfillOnce() {
+        if (isBackfilled()) {
+            return;
+        }
+        logger.info("Backfilling check-in counters and week keys before check-ins rely on them");
+        reconcile();
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(BACKFILL_JOB)
+            .orElseGet(() -> new JobCheckpoint(BACKFILL_JOB, BACKFILL_RUN_KEY));
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        jobCheckpointRepository.save(checkpoint);
+        backfilled = true;
+    }
+
+    public boolean isBackfilled() {
+        if (!backfilled) {
+            backfilled = jobCheckpointRepository.findById(BACKFILL_JOB)
+                .map(checkpoint -> Boolean.TRUE.equals(checkpoint.getCompleted()))
+                .orElse(false);
+        }
+        return backfilled;
+    }
+
+    // Check-ins read and advance the maintained counters, so they hold off until the backfill (possibly running on
+    // another node) has finished rather than restart a legacy quest's count at 1
+    public void awaitBackfill() {
+        long deadline = System.currentTimeMillis() + backfillWait.toMillis();
+        while (!isBackfilled()) {
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IllegalArgumentException("Check-ins are briefly unavailable while quest progress is being upgraded. Please try again in a minute.");
+            }
+            try {
+                Thread.sleep(BACKFILL_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalArgumentException("Check-in was interrupted");
+            }
+        }
+    }
+
+    public int backfillCheckInWeeks() {
+        int filled = 0;
+        int batch;
+        do {
+            Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(BACKFILL_WEEK_SQL, chunkSize));
+            batch = updated != null ? updated : 0;
+            filled += batch;
+        } while (batch == chunkSize);
+
+        if (filled > 0) {
+            logger.info("Backfilled ISO week keys on {} check-ins", filled);
+        }
+        return filled;
+    }
+
+    public int reconcile() {
+        backfillCheckInWeeks();
+        int corrected = 0;
+        UUID lowerKey = FIRST_KEY;
+        while (true) {
+            List<UUID> upperKeys = jdbcTemplate.queryForList(CHUNK_UPPER_KEY_SQL, UUID.class, lowerKey, chunkSize);
+            if (upperKeys.isEmpty()) {
+                break;
+            }
+            UUID from = lowerKey;
+            UUID to = upperKeys.get(0);
+            Integer updated = transactionTemplate.execute(status -> {
+                jdbcTemplate.queryForList(LOCK_RANGE_SQL, UUID.class, from, to);
+                return jdbcTemplate.update(RECONCILE_RANGE_SQL, from, to);
+            });
+            corrected += updated != null ? updated : 0;
+            lowerKey = to;
+        }
+
+        if (corrected > 0) {
+            logger.info("Reconciled check-in counters on {} quest progress rows", corrected);
+        } else {
+            logger.debug("Quest progress check-in counters are consistent");
+        }
+        return corrected;
+    }
+}
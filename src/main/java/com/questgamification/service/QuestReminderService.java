@@ -0,0 +1,160 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.NotificationDraft;
+import com.questgamification.domain.dto.QuestReminderRow;
+import com.questgamification.domain.dto.UserIdRange;
+import com.questgamification.domain.entity.NotificationType;
+import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.domain.entity.QuestType;
+import com.questgamification.repository.QuestProgressRepository;
+import com.questgamification.repository.QuestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Service
+public class QuestReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestReminderService.class);
+    private static final LocalDate FAR_FUTURE = LocalDate.of(9999, 12, 31);
+    private static final UUID FIRST_KEY = new UUID(0L, 0L);
+
+    private final QuestRepository questRepository;
+    private final QuestProgressRepository questProgressRepository;
+    private final NotificationBatchWriter notificationBatchWriter;
+    private final int pageSize;
+
+    public QuestReminderService(QuestRepository questRepository,
+                                QuestProgressRepository questProgressRepository,
+                                NotificationBatchWriter notificationBatchWriter,
+                                @Value("${quest.reminders.page-size:500}") int pageSize) {
+        this.questRepository = questRepository;
+        this.questProgressRepository = questProgressRepository;
+        this.notificationBatchWriter = notificationBatchWriter;
+        this.pageSize = pageSize;
+    }
+
+    public int sendMorningReminders(LocalDate today, UserIdRange users) {
+        boolean monday = today.getDayOfWeek() == DayOfWeek.MONDAY;
+        Set<QuestType> reminderTypes = monday ? EnumSet.allOf(QuestType.class) : EnumSet.of(QuestType.DAILY);
+        LocalDate tomorrow = today.plusDays(1);
+
+        int sent = sweep(after -> questRepository.findReminderPage(
+                QuestStatus.ACTIVE, reminderTypes, today, FAR_FUTURE, users.getFrom(), users.getTo(), after, firstPage()),
+            page -> {
+                List<NotificationDraft> drafts = new ArrayList<>();
+                for (QuestReminderRow row : page) {
+                    int daysUntilDeadline = (int) ChronoUnit.DAYS.between(today, row.getEndDate());
+                    drafts.add(draft(row, NotificationType.QUEST_REMINDER,
+                        NotificationMessages.reminder(row.getTitle(), row.getEndDate(), daysUntilDeadline)));
+                    if (row.getEndDate().equals(tomorrow)) {
+                        drafts.add(expiringDraft(row));
+                    }
+                }
+                return drafts;
+            });
+
+        Set<QuestType> remainingTypes = EnumSet.complementOf(EnumSet.copyOf(reminderTypes));
+        if (!remainingTypes.isEmpty()) {
+            sent += sweep(after -> questRepository.findReminderPage(
+                    QuestStatus.ACTIVE, remainingTypes, tomorrow, tomorrow, users.getFrom(), users.getTo(), after, firstPage()),
+                page -> page.stream().map(this::expiringDraft).toList());
+        }
+
+        logger.info("Morning reminders for users {}: {} notifications written", users, sent);
+        return sent;
+    }
+
+    public int sendMiddayReminders(LocalDate today, UserIdRange users) {
+        int sent = sweep(after -> questRepository.findReminderPage(
+                QuestStatus.ACTIVE, EnumSet.allOf(QuestType.class), today.plusDays(2), today.plusDays(3), users.getFrom(), users.getTo(), after, firstPage()),
+            page -> page.stream().map(this::expiringDraft).toList());
+
+        logger.info("Midday reminders for users {}: {} notifications written", users, sent);
+        return sent;
+    }
+
+    public int sendEveningReminders(LocalDate today, UserIdRange users) {
+        int sent = sweep(after -> questRepository.findReminderPageWithoutCheckIn(
+                QuestStatus.ACTIVE, EnumSet.of(QuestType.DAILY), today, FAR_FUTURE, today, users.getFrom(), users.getTo(), after, firstPage()),
+            page -> page.stream()
+                .map(row -> draft(row, NotificationType.QUEST_REMINDER,
+                    NotificationMessages.dailyCheckInReminder(row.getTitle(), row.getEndDate())))
+                .toList());
+
+        if (today.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+            sent += sweep(after -> questRepository.findReminderPageWithoutCheckIn(
+                    QuestStatus.ACTIVE, EnumSet.of(QuestType.WEEKLY), today, FAR_FUTURE, weekStart, users.getFrom(), users.getTo(), after, firstPage()),
+                page -> page.stream()
+                    .map(row -> draft(row, NotificationType.QUEST_REMINDER,
+                        NotificationMessages.weeklyCheckInReminder(row.getTitle(), row.getEndDate())))
+                    .toList());
+        }
+
+        logger.info("Evening reminders for users {}: {} notifications written", users, sent);
+        return sent;
+    }
+
+    public int sendWeeklyProgressSummary(LocalDate today, UserIdRange users) {
+        int sent = sweep(after -> questRepository.findReminderPage(
+                QuestStatus.ACTIVE, EnumSet.allOf(QuestType.class), today, FAR_FUTURE, users.getFrom(), users.getTo(), after, firstPage()),
+            page -> {
+                Map<UUID, Long> checkInCounts = new HashMap<>();
+                for (Object[] row : questProgressRepository.findCheckInCounts(page.stream().map(QuestReminderRow::getQuestId).toList())) {
+                    checkInCounts.put((UUID) row[0], ((Integer) row[1]).longValue());
+                }
+                return page.stream()
+                    .map(row -> draft(row, NotificationType.SYSTEM, NotificationMessages.weeklyProgressSummary(
+                        row.getTitle(), checkInCounts.getOrDefault(row.getQuestId(), 0L), row.getCheckInGoal(), row.getEndDate())))
+                    .toList();
+            });
+
+        logger.info("Weekly progress summary for users {}: {} notifications written", users, sent);
+        return sent;
+    }
+
+    private int sweep(Function<UUID, List<QuestReminderRow>> pageLoader,
+                      Function<List<QuestReminderRow>, List<NotificationDraft>> toDrafts) {
+        int written = 0;
+        UUID after = FIRST_KEY;
+        List<QuestReminderRow> page;
+        do {
+            page = pageLoader.apply(after);
+            if (page.isEmpty()) {
+                break;
+            }
+            written += notificationBatchWriter.write(toDrafts.apply(page));
+            after = page.get(page.size() - 1).getQuestId();
+        } while (page.size() == pageSize);
+        return written;
+    }
+
+    private Pageable firstPage() {
+        return PageRequest.of(0, pageSize);
+    }
+
+    private NotificationDraft expiringDraft(QuestReminderRow row) {
+        return draft(row, NotificationType.QUEST_EXPIRING_SOON,
+            NotificationMessages.expiringSoon(row.getTitle(), row.getEndDate()));
+    }
+
+    private NotificationDraft draft(QuestReminderRow row, NotificationType type, String message) {
+        return new NotificationDraft(row.getUserId(), row.getQuestId(), type, message);
+    }
+}
@@ -2,11 +2,16 @@ package com.questgamification.service;
 
 import com.questgamification.domain.dto.QuestCreateDto;
 import com.questgamification.domain.dto.QuestProgressUpdateDto;
+import com.questgamification.domain.dto.QuestView;
+import com.questgamification.domain.dto.StreakUpdate;
+import com.questgamification.domain.entity.AchievementType;
 import com.questgamification.domain.entity.Quest;
 import com.questgamification.domain.entity.QuestProgress;
 import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.domain.entity.QuestType;
 import com.questgamification.domain.entity.User;
 import com.questgamification.domain.entity.CheckIn;
+import com.questgamification.domain.entity.XpSource;
 import com.questgamification.repository.CheckInRepository;
 import com.questgamification.repository.QuestProgressRepository;
 import com.questgamification.repository.QuestRepository;
@@ -19,9 +24,12 @@ import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -32,32 +40,43 @@ public class QuestService {
     private final QuestRepository questRepository;
     private final QuestProgressRepository questProgressRepository;
     private final UserService userService;
-    private final QuestAnalyticsClient questAnalyticsClient;
+    private final AnalyticsOutboxService analyticsOutboxService;
     private final AchievementService achievementService;
     private final NotificationService notificationService;
     private final RewardRepository rewardRepository;
     private final CheckInRepository checkInRepository;
+    private final UserStatsService userStatsService;
+    private final StreakService streakService;
+    private final QuestCacheEvictor questCacheEvictor;
+    private final QuestProgressReconciler questProgressReconciler;
 
     public QuestService(QuestRepository questRepository, 
                        QuestProgressRepository questProgressRepository,
                        UserService userService,
-                       QuestAnalyticsClient questAnalyticsClient,
+                       AnalyticsOutboxService analyticsOutboxService,
                        AchievementService achievementService,
                        NotificationService notificationService,
                        RewardRepository rewardRepository,
-                       CheckInRepository checkInRepository) {
+                       CheckInRepository checkInRepository,
+                       UserStatsService userStatsService,
+                       StreakService streakService,
+                       QuestCacheEvictor questCacheEvictor,
+                       QuestProgressReconciler questProgressReconciler) {
         this.questRepository = questRepository;
         this.questProgressRepository = questProgressRepository;
         this.userService = userService;
-        this.questAnalyticsClient = questAnalyticsClient;
+        this.analyticsOutboxService = analyticsOutboxService;
         this.achievementService = achievementService;
         this.notificationService = notificationService;
         this.rewardRepository = rewardRepository;
         this.checkInRepository = checkInRepository;
+        this.userStatsService = userStatsService;
+        this.streakService = streakService;
+        this.questCacheEvictor = questCacheEvictor;
+        this.questProgressReconciler = questProgressReconciler;
     }
 
     @Transactional
-    @CacheEvict(value = "quests", allEntries = true)
     public Quest createQuest(QuestCreateDto questDto, User user) {
         logger.info("Creating quest '{}' for user {}", questDto.getTitle(), user.getUsername());
         
@@ -93,28 +112,33 @@ public class QuestService {
         progress.setProgressPercentage(0);
         progress.setLastUpdated(LocalDateTime.now());
         questProgressRepository.save(progress);
+        userStatsService.questCreated(user.getId());
+        questCacheEvictor.userQuestsChanged(user.getId());
 
         logger.info("Quest created successfully with ID: {}", savedQuest.getId());
         return savedQuest;
     }
 
-    @Cacheable(value = "quests", key = "#id")
+    // Entities stay inside the calling request's transaction; only the immutable views below are cached
     public Optional<Quest> findById(UUID id) {
         return questRepository.findById(id);
     }
 
-    @Cacheable(value = "quests", key = "'user_' + #user.id")
-    public List<Quest> findByUser(User user) {
-        return questRepository.findByUser(user);
+    @Cacheable(value = "quests", key = "'user_' + #userId")
+    public List<QuestView> findByUser(UUID userId) {
+        return List.copyOf(questRepository.findViewsByUserId(userId));
     }
 
-    @Cacheable(value = "quests", key = "'user_' + #user.id + '_status_' + #status")
-    public List<Quest> findByUserAndStatus(User user, QuestStatus status) {
-        return questRepository.findByUserAndStatus(user, status);
+    @Cacheable(value = "quests", key = "'user_' + #userId + '_status_' + #status")
+    public List<QuestView> findByUserAndStatus(UUID userId, QuestStatus status) {
+        return List.copyOf(questRepository.findViewsByUserIdAndStatus(userId, status));
     }
 
     @Transactional
-    @CacheEvict(value = "quests", allEntries = true)
+    @Caching(evict = {
+        @CacheEvict(value = "stats", key = "'user_' + #user.id"),
+        @CacheEvict(value = "users", key = "#user.username")
+    })
     public CheckIn checkIn(UUID questId, User user) {
         logger.info("Processing check-in for quest {} by user {}", questId, user.getUsername());
         
@@ -129,70 +153,58 @@ public class QuestService {
             throw new IllegalArgumentException("Quest is not active");
         }
 
+        questProgressReconciler.awaitBackfill();
         LocalDate today = LocalDate.now();
-        
-        if (quest.getQuestType() == com.questgamification.domain.entity.QuestType.DAILY) {
-            Optional<CheckIn> existingCheckIn = checkInRepository.findByQuestAndUserAndCheckInDate(quest, user, today);
-            if (existingCheckIn.isPresent()) {
-                throw new IllegalArgumentException("You have already checked in today for this daily quest");
-            }
-        } else if (quest.getQuestType() == com.questgamification.domain.entity.QuestType.WEEKLY) {
-            java.time.temporal.WeekFields weekFields = java.time.temporal.WeekFields.of(java.util.Locale.getDefault());
-            int currentWeek = today.get(weekFields.weekOfYear());
-            int currentYear = today.get(weekFields.weekBasedYear());
-            
-            List<CheckIn> checkInsThisWeek = checkInRepository.findByQuestAndUser(quest, user)
-                .stream()
-                .filter(checkIn -> {
-                    int checkInWeek = checkIn.getCheckInDate().get(weekFields.weekOfYear());
-                    int checkInYear = checkIn.getCheckInDate().get(weekFields.weekBasedYear());
-                    return checkInWeek == currentWeek && checkInYear == currentYear;
-                })
-                .toList();
-            
-            if (!checkInsThisWeek.isEmpty()) {
-                throw new IllegalArgumentException("You have already checked in this week for this weekly quest");
-            }
+
+        // The probe gives weekly quests an early answer and still catches legacy rows without a week key; the
+        // per-day and weekly unique constraints behind the insert are what hold under concurrent submits.
+        LocalDate weekStart = today.with(DayOfWeek.MONDAY);
+        if (quest.getQuestType() == QuestType.WEEKLY
+                && checkInRepository.existsInWeek(questId, user.getId(), CheckIn.isoWeekKey(today),
+                    weekStart, weekStart.plusDays(6))) {
+            throw new IllegalArgumentException("You have already checked in this week for this weekly quest");
         }
 
+        CheckIn checkIn = new CheckIn(quest, user);
+        checkIn.setId(UUID.randomUUID());
+        checkIn.setCheckInDate(today);
+        if (checkInRepository.insertIfAbsent(checkIn.getId(), questId, user.getId(), today,
+                checkIn.getCheckInWeek(), checkIn.getWeeklyCheckInWeek()) == 0) {
+            throw new IllegalArgumentException(quest.getQuestType() == QuestType.DAILY
+                ? "You have already checked in today for this daily quest"
+                : "You have already checked in this week for this weekly quest");
+        }
+
+        questCacheEvictor.userQuestsChanged(user.getId());
+
+        // The streak, any grant it earns and the XP persist together: a failure in any of them rolls back the
+        // whole check-in rather than leaving the streak advanced with its grant lost
+        StreakUpdate streak = streakService.recordCheckIn(user.getId(), today, quest.getQuestType());
+        // Any grant lands on the user instance that addExperience saves below
+        achievementService.onMetricChanged(user, AchievementType.STREAK_DAYS, streak.getPreviousLongest(), streak.getLongestStreak());
+
         int goal = quest.getCheckInGoal();
         long xpPerCheckIn = quest.getExperienceReward() / goal;
-        
-        try {
-            User updatedUser = userService.addExperience(user, xpPerCheckIn);
-            userService.updateUser(updatedUser);
-            logger.info("Awarded {} XP to user {} for check-in", xpPerCheckIn, updatedUser.getUsername());
-            
-            try {
-                achievementService.checkAndAwardAchievements(updatedUser);
-                userService.updateUser(updatedUser);
-            } catch (Exception e) {
-                logger.warn("Failed to check achievements after check-in: {}", e.getMessage());
-            }
-        } catch (Exception e) {
-            logger.error("Failed to add experience for check-in: {}", e.getMessage());
+
+        // addExperience persists the user and runs the achievement check itself
+        userService.addExperience(user, xpPerCheckIn, XpSource.QUEST_CHECK_IN, checkIn.getId());
+        logger.info("Awarded {} XP to user {} for check-in", xpPerCheckIn, user.getUsername());
+
+        LocalDateTime now = LocalDateTime.now();
+        long totalCheckIns;
+        if (questProgressRepository.recordCheckIn(questId, user.getId(), today, goal, now) > 0) {
+            totalCheckIns = questProgressRepository.findCheckInCount(questId, user.getId()).orElse(0);
+        } else {
+            totalCheckIns = checkInRepository.countByQuestIdAndUserId(questId, user.getId());
+            QuestProgress progress = new QuestProgress();
+            progress.setQuest(quest);
+            progress.setUser(user);
+            progress.setCheckInCount((int) totalCheckIns);
+            progress.setLastCheckInDate(today);
+            progress.setProgressPercentage((int) Math.min(100, (totalCheckIns * 100.0 / goal)));
+            progress.setLastUpdated(now);
+            questProgressRepository.save(progress);
         }
-        
-        CheckIn checkIn = new CheckIn(quest, user);
-        checkIn.setCheckInDate(today);
-        checkIn = checkInRepository.save(checkIn);
-
-        QuestProgress progress = questProgressRepository.findByQuestAndUser(quest, user)
-            .orElseGet(() -> {
-                QuestProgress newProgress = new QuestProgress();
-                newProgress.setQuest(quest);
-                newProgress.setUser(user);
-                newProgress.setProgressPercentage(0);
-                newProgress.setLastUpdated(LocalDateTime.now());
-                return questProgressRepository.save(newProgress);
-            });
-        
-        long totalCheckIns = checkInRepository.countByQuestAndUser(quest, user);
-        
-        int progressPercentage = (int) Math.min(100, (totalCheckIns * 100.0 / goal));
-        progress.setProgressPercentage(progressPercentage);
-        progress.setLastUpdated(LocalDateTime.now());
-        questProgressRepository.save(progress);
 
         if (totalCheckIns >= goal) {
             completeQuest(quest, user);
@@ -206,12 +218,31 @@ public class QuestService {
         return checkInRepository.findByQuestAndUserOrderByCheckInDateDesc(quest, user);
     }
     
-    public List<Quest> getQuestsReadyForCheckIn(User user) {
+    public List<QuestView> getQuestsReadyForCheckIn(UUID userId) {
+        return getQuestsReadyForCheckIn(userId, questRepository.findViewsByUserIdAndStatus(userId, QuestStatus.ACTIVE));
+    }
+
+    // Resolves eligibility for all given quests with a single progress query, regardless of how many there are
+    public List<QuestView> getQuestsReadyForCheckIn(UUID userId, List<QuestView> activeQuests) {
+        List<QuestView> candidates = activeQuests.stream()
+            .filter(quest -> quest.getStatus() == QuestStatus.ACTIVE)
+            .filter(quest -> userId.equals(quest.getUserId()))
+            .toList();
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, LocalDate> lastCheckIns = new HashMap<>();
+        for (Object[] row : questProgressRepository.findLastCheckInDates(userId,
+                candidates.stream().map(QuestView::getId).toList())) {
+            if (row[1] != null) {
+                lastCheckIns.put((UUID) row[0], (LocalDate) row[1]);
+            }
+        }
+
         LocalDate today = LocalDate.now();
-        List<Quest> activeQuests = findByUserAndStatus(user, QuestStatus.ACTIVE);
-        
-        return activeQuests.stream()
-            .filter(quest -> canCheckIn(quest, user, today))
+        return candidates.stream()
+            .filter(quest -> isCheckInOpen(quest.getQuestType(), lastCheckIns.get(quest.getId()), today))
             .toList();
     }
 
@@ -224,31 +255,21 @@ public class QuestService {
             return false;
         }
         
-        if (quest.getQuestType() == com.questgamification.domain.entity.QuestType.DAILY) {
-            Optional<CheckIn> existingCheckIn = checkInRepository.findByQuestAndUserAndCheckInDate(quest, user, date);
-            return existingCheckIn.isEmpty();
-        } else if (quest.getQuestType() == com.questgamification.domain.entity.QuestType.WEEKLY) {
-            java.time.temporal.WeekFields weekFields = java.time.temporal.WeekFields.of(java.util.Locale.getDefault());
-            int currentWeek = date.get(weekFields.weekOfYear());
-            int currentYear = date.get(weekFields.weekBasedYear());
-            
-            List<CheckIn> checkInsThisWeek = checkInRepository.findByQuestAndUser(quest, user)
-                .stream()
-                .filter(checkIn -> {
-                    int checkInWeek = checkIn.getCheckInDate().get(weekFields.weekOfYear());
-                    int checkInYear = checkIn.getCheckInDate().get(weekFields.weekBasedYear());
-                    return checkInWeek == currentWeek && checkInYear == currentYear;
-                })
-                .toList();
-            
-            return checkInsThisWeek.isEmpty();
+        // Answered from the maintained progress row instead of scanning check_ins
+        LocalDate lastCheckIn = questProgressRepository.findLastCheckInDate(quest.getId(), user.getId()).orElse(null);
+        return isCheckInOpen(quest.getQuestType(), lastCheckIn, date);
+    }
+
+    private boolean isCheckInOpen(QuestType questType, LocalDate lastCheckIn, LocalDate date) {
+        if (questType == QuestType.DAILY) {
+            return lastCheckIn == null || lastCheckIn.isBefore(date);
+        } else if (questType == QuestType.WEEKLY) {
+            return lastCheckIn == null || CheckIn.isoWeekKey(lastCheckIn) < CheckIn.isoWeekKey(date);
         }
-        
         return false;
     }
 
     @Transactional
-    @CacheEvict(value = "quests", allEntries = true)
     public QuestProgress updateProgress(QuestProgressUpdateDto progressDto, User user) {
         logger.warn("updateProgress called - this method is deprecated. Use checkIn instead.");
         throw new UnsupportedOperationException("Please use the check-in system instead. Visit the quest details page to check in.");
@@ -256,9 +277,8 @@ public class QuestService {
 
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "quests", allEntries = true),
         @CacheEvict(value = "stats", key = "'user_' + #user.id"),
-        @CacheEvict(value = "users", key = "#user.id")
+        @CacheEvict(value = "users", key = "#user.username")
     })
     public void completeQuest(Quest quest, User user) {
         logger.info("Completing quest {} for user {}", quest.getId(), user.getUsername());
@@ -270,23 +290,21 @@ public class QuestService {
         try {
             quest.setStatus(QuestStatus.COMPLETED);
             questRepository.save(quest);
+            userStatsService.questCompleted(user.getId());
+            questCacheEvictor.userQuestsChanged(user.getId());
 
-            User updatedUser = userService.findById(user.getId())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-            
             try {
-                achievementService.checkAndAwardAchievements(updatedUser);
-                userService.updateUser(updatedUser);
+                int completed = userStatsService.completedQuests(user.getId());
+                if (!achievementService.onMetricChanged(user, AchievementType.QUESTS_COMPLETED, completed - 1, completed).isEmpty()) {
+                    userService.updateUser(user);
+                }
             } catch (Exception e) {
                 logger.warn("Failed to check achievements for user {}: {}", user.getUsername(), e.getMessage());
             }
             
-            try {
-                long totalXpGiven = quest.getExperienceReward();
-                questAnalyticsClient.recordQuestCompletion(user.getId(), quest.getId(), totalXpGiven);
-            } catch (Exception e) {
-                logger.warn("Failed to record quest completion in analytics service for quest {}: {}", quest.getId(), e.getMessage());
-            }
+            // Shipped to the analytics service in the background; written here so it commits with the completion
+            long totalXpGiven = quest.getExperienceReward();
+            analyticsOutboxService.recordQuestCompletion(user.getId(), quest.getId(), totalXpGiven);
             
             try {
                 notificationService.createQuestCompletedNotification(quest);
@@ -305,7 +323,6 @@ public class QuestService {
     }
 
     @Transactional
-    @CacheEvict(value = "quests", allEntries = true)
     public void deleteQuest(UUID questId, User user) {
         logger.info("Deleting quest {} by user {}", questId, user.getUsername());
         
@@ -316,20 +333,28 @@ public class QuestService {
             throw new IllegalArgumentException("User does not own this quest");
         }
 
-        questRepository.delete(quest);
+        delete(quest);
         logger.info("Quest {} deleted successfully", questId);
     }
 
-    public List<Quest> findExpiredQuests() {
-        return questRepository.findByStatusAndEndDateBefore(QuestStatus.ACTIVE, LocalDate.now());
+    // Admins may delete any user's quest; the owner's counters and cached lists are updated the same way
+    @Transactional
+    public void deleteQuestAsAdmin(UUID questId) {
+        logger.info("Admin deleting quest {}", questId);
+
+        Quest quest = questRepository.findById(questId)
+            .orElseThrow(() -> new IllegalArgumentException("Quest not found"));
+
+        delete(quest);
+        logger.info("Quest {} deleted by admin", questId);
     }
 
-    @Transactional
-    @CacheEvict(value = "quests", allEntries = true)
-    public void expireQuests(List<Quest> expiredQuests) {
-        logger.info("Expiring {} quests", expiredQuests.size());
-        expiredQuests.forEach(quest -> quest.setStatus(QuestStatus.EXPIRED));
-        questRepository.saveAll(expiredQuests);
+    private void delete(Quest quest) {
+        UUID ownerId = quest.getUser().getId();
+        QuestStatus status = quest.getStatus();
+        questRepository.delete(quest);
+        userStatsService.questDeleted(ownerId, status);
+        questCacheEvictor.userQuestsChanged(ownerId);
     }
 }
 
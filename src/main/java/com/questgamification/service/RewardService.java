@@ -19,9 +19,11 @@ public class RewardService {
 
     private static final Logger logger = LoggerFactory.getLogger(RewardService.class);
     private final RewardRepository rewardRepository;
+    private final UserStatsService userStatsService;
 
-    public RewardService(RewardRepository rewardRepository) {
+    public RewardService(RewardRepository rewardRepository, UserStatsService userStatsService) {
         this.rewardRepository = rewardRepository;
+        this.userStatsService = userStatsService;
     }
 
     @Cacheable(value = "rewards", key = "#level")
@@ -108,6 +110,7 @@ public class RewardService {
         reward.getUsers().add(user);
         
         rewardRepository.save(reward);
+        userStatsService.rewardClaimed(user.getId());
         
         logger.info("Reward {} claimed successfully by user {}", rewardId, user.getUsername());
         return reward;
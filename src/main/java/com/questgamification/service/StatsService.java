@@ -1,83 +1,139 @@
 package com.questgamification.service;
 
-import com.questgamification.domain.entity.Quest;
-import com.questgamification.domain.entity.QuestStatus;
-import com.questgamification.domain.entity.User;
-import com.questgamification.repository.QuestRepository;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.questgamification.config.CachePolicyProperties;
+import com.questgamification.domain.dto.UserView;
+import com.questgamification.domain.entity.UserStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class StatsService {
 
     private static final Logger logger = LoggerFactory.getLogger(StatsService.class);
-    private final QuestRepository questRepository;
+    static final String ANALYTICS_CACHE = "analytics";
+    private final UserStatsService userStatsService;
     private final QuestAnalyticsClient questAnalyticsClient;
+    private final CircuitBreaker circuitBreaker;
+    private final ExecutorService analyticsLoader;
+    private final AsyncLoadingCache<UUID, Map<String, Object>> analyticsCache;
+    private final Duration coldLoadWait;
 
-    public StatsService(QuestRepository questRepository, QuestAnalyticsClient questAnalyticsClient) {
-        this.questRepository = questRepository;
+    public StatsService(UserStatsService userStatsService, QuestAnalyticsClient questAnalyticsClient,
+                        CachePolicyProperties cachePolicies, MeterRegistry meterRegistry,
+                        @Value("${quest.analytics.cache.cold-load-wait:500ms}") Duration coldLoadWait,
+                        @Value("${quest.analytics.cache.loader-threads:4}") int loaderThreads,
+                        @Value("${quest.analytics.cache.loader-queue:1000}") int loaderQueue,
+                        @Value("${quest.analytics.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                        @Value("${quest.analytics.circuit-breaker.open-duration:1m}") Duration openDuration) {
+        this.userStatsService = userStatsService;
         this.questAnalyticsClient = questAnalyticsClient;
+        this.coldLoadWait = coldLoadWait;
+        this.circuitBreaker = new CircuitBreaker("analytics-reads", failureThreshold, openDuration);
+        this.analyticsLoader = new ThreadPoolExecutor(loaderThreads, loaderThreads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(loaderQueue), runnable -> {
+                Thread thread = new Thread(runnable, "analytics-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+        // Stale-while-revalidate: past refresh-after-write a read still returns the cached value and triggers a
+        // background reload; a failed reload keeps the old value, so entries only go once they expire
+        this.analyticsCache = cachePolicies.builderFor(ANALYTICS_CACHE)
+            .executor(analyticsLoader)
+            .buildAsync(this::fetchAnalyticsData);
+        CaffeineCacheMetrics.monitor(meterRegistry, analyticsCache, ANALYTICS_CACHE);
     }
 
     @Cacheable(value = "stats", key = "'user_' + #user.id")
-    public Map<String, Object> getUserStats(User user) {
+    public Map<String, Object> getUserStats(UserView user) {
         logger.info("Retrieving stats for user {} (ID: {})", user.getUsername(), user.getId());
 
-        List<Quest> allQuests = questRepository.findByUser(user);
-        logger.debug("Found {} quests for user {}", allQuests.size(), user.getUsername());
-        
-        long completedQuests = allQuests.stream()
-                .filter(q -> {
-                    QuestStatus status = q.getStatus();
-                    boolean isCompleted = status == QuestStatus.COMPLETED;
-                    if (isCompleted) {
-                        logger.debug("Found completed quest: {} - {}", q.getId(), q.getTitle());
-                    }
-                    return isCompleted;
-                })
-                .count();
-        long activeQuests = allQuests.stream()
-                .filter(q -> q.getStatus() == QuestStatus.ACTIVE)
-                .count();
-        long expiredQuests = allQuests.stream()
-                .filter(q -> q.getStatus() == QuestStatus.EXPIRED)
-                .count();
-
-        logger.info("Stats for user {}: total={}, completed={}, active={}, expired={}", 
-                    user.getUsername(), allQuests.size(), completedQuests, activeQuests, expiredQuests);
+        UserStats projection = userStatsService.getOrBuild(user.getId());
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("level", user.getLevel());
         stats.put("experiencePoints", user.getExperiencePoints());
-        stats.put("totalQuests", allQuests.size());
-        stats.put("completedQuests", completedQuests);
-        stats.put("activeQuests", activeQuests);
-        stats.put("expiredQuests", expiredQuests);
-        stats.put("achievementsCount", user.getAchievements().size());
-        stats.put("rewardsClaimed", user.getClaimedRewards().size());
+        stats.put("totalQuests", projection.getTotalQuests());
+        stats.put("completedQuests", projection.getCompletedQuests().longValue());
+        stats.put("activeQuests", projection.getActiveQuests().longValue());
+        stats.put("expiredQuests", projection.getExpiredQuests().longValue());
+        stats.put("achievementsCount", projection.getAchievementsCount());
+        stats.put("rewardsClaimed", projection.getRewardsClaimed());
 
-        return stats;
+        return Collections.unmodifiableMap(stats);
     }
 
+    // Cached entries are served straight away; a cold miss waits briefly for the first load and otherwise renders
+    // the empty placeholder while the load finishes in the background for the next view
     public Map<String, Object> getAnalyticsData(UUID userId) {
-        logger.info("Retrieving analytics data for user {}", userId);
+        logger.debug("Retrieving analytics data for user {}", userId);
+        CompletableFuture<Map<String, Object>> pending = null;
+        try {
+            pending = analyticsCache.get(userId);
+            return pending.get(coldLoadWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.debug("Analytics data for user {} is still loading", userId);
+        } catch (ExecutionException e) {
+            logger.warn("Failed to retrieve analytics data for user {}: {}", userId, e.getCause().getMessage());
+            // Caffeine drops failed loads asynchronously; remove it now so the next read retries the load
+            analyticsCache.asMap().remove(userId, pending);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Analytics loader is saturated; serving placeholder data for user {}", userId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return emptyAnalytics();
+    }
+
+    public CircuitBreaker.State getAnalyticsCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        analyticsLoader.shutdownNow();
+    }
+
+    private Map<String, Object> fetchAnalyticsData(UUID userId) {
+        if (!circuitBreaker.allowRequest()) {
+            throw new IllegalStateException("Analytics circuit is open");
+        }
         try {
-            return questAnalyticsClient.getAnalyticsData(userId);
-        } catch (Exception e) {
-            logger.warn("Failed to retrieve analytics data for user {}: {}", userId, e.getMessage());
-            Map<String, Object> emptyAnalytics = new HashMap<>();
-            emptyAnalytics.put("totalExperienceEarned", 0L);
-            emptyAnalytics.put("totalQuestsCompleted", 0);
-            emptyAnalytics.put("currentLevel", 1);
-            emptyAnalytics.put("lastUpdated", null);
-            return emptyAnalytics;
+            Map<String, Object> data = questAnalyticsClient.getAnalyticsData(userId);
+            circuitBreaker.recordSuccess();
+            return data != null ? Collections.unmodifiableMap(data) : Map.of();
+        } catch (RuntimeException e) {
+            circuitBreaker.recordFailure();
+            throw e;
         }
     }
+
+    private static Map<String, Object> emptyAnalytics() {
+        Map<String, Object> emptyAnalytics = new HashMap<>();
+        emptyAnalytics.put("totalExperienceEarned", 0L);
+        emptyAnalytics.put("totalQuestsCompleted", 0);
+        emptyAnalytics.put("currentLevel", 1);
+        emptyAnalytics.put("lastUpdated", null);
+        return emptyAnalytics;
+    }
 }
@@ -0,0 +1,51 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.StreakUpdate;
+import com.questgamification.domain.entity.QuestType;
+import com.questgamification.domain.entity.UserStreak;
+import com.questgamification.repository.UserStreakRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Service
+public class StreakService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreakService.class);
+    private final UserStreakRepository userStreakRepository;
+
+    public StreakService(UserStreakRepository userStreakRepository) {
+        this.userStreakRepository = userStreakRepository;
+    }
+
+    // Constant work per check-in: one locked row read and update, never a scan of check-in history
+    @Transactional
+    public StreakUpdate recordCheckIn(UUID userId, LocalDate day, QuestType questType) {
+        UserStreak streak = userStreakRepository.findForUpdate(userId).orElse(null);
+        if (streak == null) {
+            userStreakRepository.insertIfAbsent(userId);
+            streak = userStreakRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Streak row missing for user " + userId));
+        }
+
+        int previousLongest = streak.getLongestStreak();
+        if (streak.recordActivity(day, questType)) {
+            logger.debug("User {} streak is now {} days (longest {})", userId, streak.getCurrentStreak(), streak.getLongestStreak());
+        }
+        return new StreakUpdate(previousLongest, streak.getCurrentStreak(), streak.getLongestStreak());
+    }
+
+    @Transactional(readOnly = true)
+    public int getLongestStreak(UUID userId) {
+        return userStreakRepository.findById(userId).map(UserStreak::getLongestStreak).orElse(0);
+    }
+
+    @Transactional(readOnly = true)
+    public int getCurrentStreak(UUID userId, LocalDate today) {
+        return userStreakRepository.findById(userId).map(streak -> streak.currentStreakAsOf(today)).orElse(0);
+    }
+}
@@ -0,0 +1,94 @@
+package com.questgamification.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.questgamification.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-user unread counts held in memory and adjusted as notifications are written and read. A user's count is
+// loaded with one COUNT query the first time it is needed; after that page renders read it for free. Counts
+// for users who are not in memory are left alone and simply loaded fresh on their next read.
+@Component
+public class UnreadNotificationCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    private final Cache<UUID, AtomicLong> counters;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     NotificationStreamRegistry notificationStreamRegistry,
+                                     @Value("${quest.notifications.unread-counter.maximum-size:10000}") long maximumSize,
+                                     @Value("${quest.notifications.unread-counter.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.notificationRepository = notificationRepository;
+        this.notificationStreamRegistry = notificationStreamRegistry;
+        this.counters = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+    }
+
+    public long get(UUID userId) {
+        return counters.get(userId, id -> new AtomicLong(notificationRepository.countUnreadByUserId(id))).get();
+    }
+
+    public void added(Map<UUID, Integer> addedPerUser) {
+        addedPerUser.forEach((userId, count) -> {
+            AtomicLong counter = counters.getIfPresent(userId);
+            if (counter != null) {
+                notificationStreamRegistry.unreadChanged(userId, counter.addAndGet(count));
+            }
+        });
+    }
+
+    public void read(UUID userId) {
+        AtomicLong counter = counters.getIfPresent(userId);
+        if (counter != null) {
+            notificationStreamRegistry.unreadChanged(userId, counter.updateAndGet(value -> Math.max(0, value - 1)));
+        }
+    }
+
+    public void allRead(UUID userId) {
+        counters.put(userId, new AtomicLong());
+        notificationStreamRegistry.unreadChanged(userId, 0L);
+    }
+
+    // Another node changed this user's notifications; the next read recounts
+    public void invalidate(UUID userId) {
+        counters.invalidate(userId);
+    }
+
+    // Corrects drift from writes this node did not see (other nodes, rolled-back overflow writes)
+    public int reconcile() {
+        List<UUID> userIds = new ArrayList<>(counters.asMap().keySet());
+        for (int from = 0; from < userIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<UUID> chunk = userIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, userIds.size()));
+            Map<UUID, Long> actual = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByUserIds(chunk)) {
+                actual.put((UUID) row[0], (Long) row[1]);
+            }
+            for (UUID userId : chunk) {
+                AtomicLong counter = counters.getIfPresent(userId);
+                long count = actual.getOrDefault(userId, 0L);
+                if (counter != null && counter.getAndSet(count) != count) {
+                    notificationStreamRegistry.unreadChanged(userId, count);
+                }
+            }
+        }
+        logger.debug("Reconciled unread notification counters for {} users", userIds.size());
+        return userIds.size();
+    }
+}
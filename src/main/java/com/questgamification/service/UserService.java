@@ -1,13 +1,19 @@
 package com.questgamification.service;
 
 import com.questgamification.domain.dto.UserRegistrationDto;
+import com.questgamification.domain.dto.UserView;
+import com.questgamification.domain.entity.AchievementType;
 import com.questgamification.domain.entity.Role;
 import com.questgamification.domain.entity.User;
+import com.questgamification.domain.entity.XpLedgerEntry;
+import com.questgamification.domain.entity.XpSource;
 import com.questgamification.repository.UserRepository;
+import com.questgamification.repository.XpLedgerRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,14 +27,25 @@ import java.util.UUID;
 public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
+    private static final String ADD_EXPERIENCE_SQL =
+        "UPDATE users SET experience_points = experience_points + ? WHERE id = ? RETURNING experience_points";
+
+    private static final String RAISE_LEVEL_SQL = "UPDATE users SET level = ? WHERE id = ? AND level < ?";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AchievementService achievementService;
+    private final XpLedgerRepository xpLedgerRepository;
+    private final JdbcTemplate jdbcTemplate;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AchievementService achievementService) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AchievementService achievementService,
+                       XpLedgerRepository xpLedgerRepository, JdbcTemplate jdbcTemplate) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.achievementService = achievementService;
+        this.xpLedgerRepository = xpLedgerRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Transactional
@@ -68,53 +85,71 @@ public class UserService {
         return savedUser;
     }
 
-    @Cacheable(value = "users", key = "#id")
+    // Entities are for callers that modify the user inside a transaction; read-only callers use findViewByUsername
     public Optional<User> findById(UUID id) {
         return userRepository.findById(id);
     }
 
-    @Cacheable(value = "users", key = "#username")
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(value = "users", key = "#username")
+    public Optional<UserView> findViewByUsername(String username) {
+        return userRepository.findByUsername(username).map(UserView::from);
+    }
+
+    // XP is accrued in SQL rather than read-modify-write on the entity, so concurrent grants for the same user (two tabs,
+    // two devices) all count. Levels and thresholds are derived from the total the increment returned: each grant owns
+    // the interval (total - amount, total], so every level-up and XP achievement fires exactly once.
     @Transactional
-    @CacheEvict(value = "users", key = "#user.id")
-    public User addExperience(User user, Long experiencePoints) {
+    @CacheEvict(value = "users", key = "#user.username")
+    public User addExperience(User user, long experiencePoints, XpSource source, UUID referenceId) {
         logger.info("Adding {} XP to user {}", experiencePoints, user.getUsername());
-        user.setExperiencePoints(user.getExperiencePoints() + experiencePoints);
-        
-        int newLevel = calculateLevel(user.getExperiencePoints());
-        if (newLevel > user.getLevel()) {
-            logger.info("User {} leveled up from {} to {}", user.getUsername(), user.getLevel(), newLevel);
-            user.setLevel(newLevel);
+        Long total = jdbcTemplate.queryForObject(ADD_EXPERIENCE_SQL, Long.class, experiencePoints, user.getId());
+        if (total == null) {
+            throw new IllegalArgumentException("User not found");
         }
+        xpLedgerRepository.save(new XpLedgerEntry(user.getId(), experiencePoints, source, referenceId, total));
+
+        long previousXp = total - experiencePoints;
+        int previousLevel = calculateLevel(previousXp);
+        int newLevel = calculateLevel(total);
+        user.setExperiencePoints(total);
+        if (newLevel > previousLevel) {
+            // Only ever raises the stored level, whatever order concurrent grants commit in
+            jdbcTemplate.update(RAISE_LEVEL_SQL, newLevel, user.getId(), newLevel);
+            logger.info("User {} leveled up from {} to {}", user.getUsername(), previousLevel, newLevel);
+        }
+        user.setLevel(Math.max(user.getLevel() != null ? user.getLevel() : 1, newLevel));
         
-        User savedUser = userRepository.save(user);
-        
+        // Grants land on the same instance so the save below persists them; XP and level are already written
         try {
-            achievementService.checkAndAwardAchievements(savedUser);
-            savedUser = userRepository.save(savedUser);
+            achievementService.onMetricChanged(user, AchievementType.TOTAL_XP_EARNED, previousXp, total);
+            if (newLevel > previousLevel) {
+                achievementService.onMetricChanged(user, AchievementType.LEVEL_REACHED, previousLevel, newLevel);
+            }
         } catch (Exception e) {
             logger.warn("Failed to check achievements after XP/level change for user {}: {}", 
                 user.getUsername(), e.getMessage());
         }
         
-        return savedUser;
+        return userRepository.save(user);
     }
 
     @Transactional
-    @CacheEvict(value = "users", key = "#user.id")
+    @CacheEvict(value = "users", key = "#user.username")
     public User updateUser(User user) {
         return userRepository.save(user);
     }
 
-    private int calculateLevel(Long experiencePoints) {
+    private int calculateLevel(long experiencePoints) {
         return (int) Math.floor(Math.sqrt(experiencePoints / 100.0)) + 1;
     }
 
     @Transactional
-    @CacheEvict(value = "users", allEntries = true)
+    @CacheEvict(value = "users", key = "#result.username")
     public User updateUserRole(UUID userId, Role role) {
         logger.info("Updating role for user {} to {}", userId, role);
         User user = userRepository.findById(userId)
@@ -0,0 +1,112 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.domain.entity.UserStats;
+import com.questgamification.repository.UserStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+public class UserStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatsService.class);
+
+    private static final String EXPIRED_DELTA_SQL =
+        "UPDATE user_stats SET active_quests = active_quests - ?, expired_quests = expired_quests + ?, updated_at = now() " +
+        "WHERE user_id = ?";
+
+    private final UserStatsRepository userStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserStatsService(UserStatsRepository userStatsRepository, JdbcTemplate jdbcTemplate) {
+        this.userStatsRepository = userStatsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public UserStats getOrBuild(UUID userId) {
+        return userStatsRepository.findById(userId).orElseGet(() -> {
+            logger.debug("No stats projection for user {} yet - building it", userId);
+            userStatsRepository.rebuildForUser(userId);
+            return userStatsRepository.findById(userId).orElseGet(() -> emptyStats(userId));
+        });
+    }
+
+    @Transactional
+    public int completedQuests(UUID userId) {
+        return userStatsRepository.findCompletedQuests(userId)
+            .orElseGet(() -> {
+                Integer completed = getOrBuild(userId).getCompletedQuests();
+                return completed != null ? completed : 0;
+            });
+    }
+
+    @Transactional
+    @CacheEvict(value = "stats", key = "'user_' + #userId")
+    public void questCreated(UUID userId) {
+        userStatsRepository.applyDelta(userId, 1, 1, 0, 0, 0, 0);
+    }
+
+    @Transactional
+    @CacheEvict(value = "stats", key = "'user_' + #userId")
+    public void questCompleted(UUID userId) {
+        userStatsRepository.applyDelta(userId, 0, -1, 1, 0, 0, 0);
+    }
+
+    @Transactional
+    @CacheEvict(value = "stats", key = "'user_' + #userId")
+    public void questDeleted(UUID userId, QuestStatus status) {
+        userStatsRepository.applyDelta(userId, -1,
+            status == QuestStatus.ACTIVE ? -1 : 0,
+            status == QuestStatus.COMPLETED ? -1 : 0,
+            status == QuestStatus.EXPIRED ? -1 : 0, 0, 0);
+    }
+
+    // Callers clear the stats cache themselves since this is applied in bulk
+    @Transactional
+    public void questsExpired(Map<UUID, Integer> expiredPerUser) {
+        if (expiredPerUser.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(expiredPerUser.size());
+        expiredPerUser.forEach((userId, count) -> args.add(new Object[]{count, count, userId}));
+        jdbcTemplate.batchUpdate(EXPIRED_DELTA_SQL, args);
+    }
+
+    @Transactional
+    @CacheEvict(value = "stats", key = "'user_' + #userId")
+    public void achievementGranted(UUID userId) {
+        userStatsRepository.applyDelta(userId, 0, 0, 0, 0, 1, 0);
+    }
+
+    @Transactional
+    @CacheEvict(value = "stats", key = "'user_' + #userId")
+    public void rewardClaimed(UUID userId) {
+        userStatsRepository.applyDelta(userId, 0, 0, 0, 0, 0, 1);
+    }
+
+    @Transactional
+    @CacheEvict(value = "stats", allEntries = true)
+    public int rebuildAll() {
+        int rebuilt = userStatsRepository.rebuildAll();
+        logger.info("Rebuilt stats projection for {} users", rebuilt);
+        return rebuilt;
+    }
+
+    private UserStats emptyStats(UUID userId) {
+        UserStats stats = new UserStats();
+        stats.setUserId(userId);
+        stats.setUpdatedAt(LocalDateTime.now());
+        return stats;
+    }
+}
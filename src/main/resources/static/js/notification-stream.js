@@ -0,0 +1,25 @@
+(() => {
+    const script = document.currentScript;
+    const streamUrl = script && script.dataset.streamUrl;
+    if (!streamUrl || !window.EventSource) return;
+
+    const updateBadges = (count) => {
+        document.querySelectorAll('[data-unread-badge]').forEach((badge) => {
+            badge.textContent = count;
+            badge.style.display = count > 0 ? '' : 'none';
+        });
+    };
+
+    // EventSource reconnects on its own; the server resends the unread count on every (re)connect
+    const source = new EventSource(streamUrl);
+
+    source.addEventListener('unread', (event) => {
+        updateBadges(Number(event.data) || 0);
+    });
+
+    source.addEventListener('notification', (event) => {
+        document.dispatchEvent(new CustomEvent('quest:notification', { detail: JSON.parse(event.data) }));
+    });
+
+    window.addEventListener('beforeunload', () => source.close());
+})();
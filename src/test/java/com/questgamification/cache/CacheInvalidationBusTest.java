@@ -0,0 +1,168 @@
+package com.questgamification.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.questgamification.domain.entity.AchievementType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidationBusTest {
+
+    private RecordingTransport transport;
+    private ClusteredCache nodeA;
+    private ClusteredCache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        transport = new RecordingTransport();
+        nodeA = new CacheInvalidationBus(transport).clustered("users", Caffeine.newBuilder().build(), true);
+        nodeB = new CacheInvalidationBus(transport).clustered("users", Caffeine.newBuilder().build(), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        List.copyOf(TransactionSynchronizationManager.getResourceMap().keySet())
+            .forEach(TransactionSynchronizationManager::unbindResource);
+    }
+
+    @Test
+    void testEvict_PropagatesToOtherNodes() {
+        UUID userId = UUID.randomUUID();
+        nodeA.put(userId, "stale");
+        nodeB.put(userId, "stale");
+        nodeB.put("someone-else", "kept");
+
+        nodeA.evict(userId);
+
+        assertNull(nodeA.get(userId));
+        assertNull(nodeB.get(userId));
+        assertNotNull(nodeB.get("someone-else"));
+    }
+
+    @Test
+    void testClear_PropagatesToOtherNodes() {
+        nodeB.put("alice", "stale");
+        nodeB.put("bob", "stale");
+
+        nodeA.clear();
+
+        assertNull(nodeB.get("alice"));
+        assertNull(nodeB.get("bob"));
+    }
+
+    @Test
+    void testEvict_InsideTransactionPublishesAfterCommit() {
+        nodeB.put("alice", "stale");
+        TransactionSynchronizationManager.initSynchronization();
+
+        nodeA.evict("alice");
+        assertNotNull(nodeB.get("alice"));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertNull(nodeB.get("alice"));
+    }
+
+    @Test
+    void testBroadcast_DeliversItemsToOtherNodesOnly() {
+        CacheInvalidationBus sender = new CacheInvalidationBus(transport);
+        CacheInvalidationBus receiver = new CacheInvalidationBus(transport);
+        List<String> sent = new ArrayList<>();
+        List<String> received = new ArrayList<>();
+        sender.subscribe("events", sent::add);
+        receiver.subscribe("events", received::add);
+
+        sender.broadcast("events", List.of("first", "second"));
+
+        assertEquals(List.of("first", "second"), received);
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void testBroadcast_SplitsPayloadsAtSizeLimit() {
+        CacheInvalidationBus bus = new CacheInvalidationBus(transport);
+        String item = "x".repeat(3000);
+
+        bus.broadcast("events", List.of(item, item, item, "y".repeat(8000)));
+
+        assertEquals(2, transport.payloads.size());
+        assertTrue(transport.payloads.stream()
+            .allMatch(payload -> payload.getBytes(StandardCharsets.UTF_8).length <= 7500));
+    }
+
+    @Test
+    void testTransaction_SendsOnePayloadPerCommit() {
+        nodeB.put("alice", "stale");
+        nodeB.put("bob", "stale");
+        nodeB.put("carol", "kept");
+        TransactionSynchronizationManager.initSynchronization();
+
+        nodeA.evict("alice");
+        nodeA.evict("bob");
+        nodeA.evict("alice");
+
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, transport.payloads.size());
+        assertNull(nodeB.get("alice"));
+        assertNull(nodeB.get("bob"));
+        assertNotNull(nodeB.get("carol"));
+    }
+
+    @Test
+    void testTransaction_OversizedCommitClearsTouchedCaches() {
+        nodeB.put("unrelated", "stale");
+        TransactionSynchronizationManager.initSynchronization();
+
+        for (int i = 0; i < 500; i++) {
+            nodeA.evict(UUID.randomUUID());
+        }
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(1, transport.payloads.size());
+        assertNull(nodeB.get("unrelated"));
+    }
+
+    @Test
+    void testGap_ClearsLocalCopies() {
+        CacheInvalidationBus bus = new CacheInvalidationBus(transport);
+        ClusteredCache cache = bus.clustered("quests", Caffeine.newBuilder().build(), true);
+        cache.put("quest", "value");
+
+        bus.onGap();
+
+        assertNull(cache.get("quest"));
+    }
+
+    @Test
+    void testKeyCodec_RoundTripsCacheKeyTypes() {
+        UUID id = UUID.randomUUID();
+        for (Object key : List.of(id, "user_" + id, 5, 7L, AchievementType.LEVEL_REACHED)) {
+            assertEquals(key, CacheInvalidationBus.decodeKey(CacheInvalidationBus.encodeKey(key)));
+        }
+        assertNull(CacheInvalidationBus.encodeKey(List.of("composite")));
+    }
+
+    private static final class RecordingTransport extends InMemoryInvalidationTransport {
+
+        private final List<String> payloads = new ArrayList<>();
+
+        @Override
+        public void publish(String payload) {
+            payloads.add(payload);
+            super.publish(payload);
+        }
+    }
+}
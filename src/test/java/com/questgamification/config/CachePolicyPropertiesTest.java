@@ -0,0 +1,84 @@
+package com.questgamification.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachePolicyPropertiesTest {
+
+    @Test
+    void testBuilderFor_FallsBackToDefaults() {
+        CachePolicyProperties properties = new CachePolicyProperties();
+        properties.getDefaults().setExpireAfterWrite(Duration.ofMinutes(10));
+
+        Cache<Object, Object> cache = properties.builderFor("unlisted").build();
+
+        assertEquals(1000L, cache.policy().eviction().orElseThrow().getMaximum());
+        assertEquals(Duration.ofMinutes(10), cache.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+        assertTrue(cache.policy().isRecordingStats());
+    }
+
+    @Test
+    void testBuilderFor_NamedSpecOverridesDefaults() {
+        CachePolicyProperties.Spec users = new CachePolicyProperties.Spec();
+        users.setMaximumSize(50L);
+        users.setExpireAfterAccess(Duration.ofMinutes(30));
+        CachePolicyProperties properties = new CachePolicyProperties();
+        properties.getSpecs().put("users", users);
+
+        Cache<Object, Object> cache = properties.builderFor("users").build();
+
+        assertEquals(50L, cache.policy().eviction().orElseThrow().getMaximum());
+        assertTrue(cache.policy().expireAfterAccess().isPresent());
+        assertFalse(properties.hasRefresh("users"));
+    }
+
+    @Test
+    void testBuilderFor_OwnExpiryReplacesDefaultExpiry() {
+        CachePolicyProperties.Spec users = new CachePolicyProperties.Spec();
+        users.setExpireAfterAccess(Duration.ofHours(6));
+        CachePolicyProperties properties = new CachePolicyProperties();
+        properties.getDefaults().setExpireAfterWrite(Duration.ofMinutes(10));
+        properties.getSpecs().put("users", users);
+
+        Cache<Object, Object> cache = properties.builderFor("users").build();
+
+        assertEquals(Duration.ofHours(6), cache.policy().expireAfterAccess().orElseThrow().getExpiresAfter());
+        assertTrue(cache.policy().expireAfterWrite().isEmpty());
+        assertEquals(1000L, cache.policy().eviction().orElseThrow().getMaximum());
+    }
+
+    @Test
+    void testBuilderFor_SpecWithoutExpiryInheritsDefaultExpiry() {
+        CachePolicyProperties.Spec rewards = new CachePolicyProperties.Spec();
+        rewards.setMaximumSize(200L);
+        CachePolicyProperties properties = new CachePolicyProperties();
+        properties.getDefaults().setExpireAfterWrite(Duration.ofMinutes(10));
+        properties.getSpecs().put("rewards", rewards);
+
+        Cache<Object, Object> cache = properties.builderFor("rewards").build();
+
+        assertEquals(200L, cache.policy().eviction().orElseThrow().getMaximum());
+        assertEquals(Duration.ofMinutes(10), cache.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+    }
+
+    @Test
+    void testBuilderFor_WeighsEntriesByCollectionSize() {
+        CachePolicyProperties.Spec quests = new CachePolicyProperties.Spec();
+        quests.setMaximumWeight(100L);
+        CachePolicyProperties properties = new CachePolicyProperties();
+        properties.getSpecs().put("quests", quests);
+
+        Cache<Object, Object> cache = properties.builderFor("quests").build();
+
+        assertTrue(cache.policy().eviction().orElseThrow().isWeighted());
+        assertEquals(3, CachePolicyProperties.weigh("k", List.of(1, 2, 3)));
+        assertEquals(1, CachePolicyProperties.weigh("k", Map.of()));
+        assertEquals(1, CachePolicyProperties.weigh("k", "single"));
+    }
+}
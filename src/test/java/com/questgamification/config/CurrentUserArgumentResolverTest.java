@@ -0,0 +1,82 @@
+package com.questgamification.config;
+
+import com.questgamification.domain.dto.UserView;
+import com.questgamification.domain.entity.Role;
+import com.questgamification.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserArgumentResolverTest {
+
+    @Mock
+    private UserService userService;
+
+    private CurrentUserArgumentResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new CurrentUserArgumentResolver(userService);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testCurrentUser_LooksUpOncePerRequest() {
+        signIn("alice");
+        UserView alice = new UserView(UUID.randomUUID(), "alice", "alice@example.com", 2, 150L, Set.of(Role.USER));
+        when(userService.findViewByUsername("alice")).thenReturn(Optional.of(alice));
+
+        assertSame(alice, resolver.currentUser().orElseThrow());
+        assertSame(alice, resolver.currentUser().orElseThrow());
+
+        verify(userService, times(1)).findViewByUsername("alice");
+    }
+
+    @Test
+    void testCurrentUser_NewRequestLooksUpAgain() {
+        signIn("alice");
+        UserView alice = new UserView(UUID.randomUUID(), "alice", "alice@example.com", 2, 150L, Set.of(Role.USER));
+        when(userService.findViewByUsername("alice")).thenReturn(Optional.of(alice));
+
+        resolver.currentUser();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        resolver.currentUser();
+
+        verify(userService, times(2)).findViewByUsername("alice");
+    }
+
+    @Test
+    void testCurrentUser_EmptyWithoutAuthentication() {
+        assertTrue(resolver.currentUser().isEmpty());
+        verifyNoInteractions(userService);
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            username, "n/a", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
@@ -4,10 +4,13 @@ import com.questgamification.repository.AchievementRepository;
 import com.questgamification.repository.QuestRepository;
 import com.questgamification.repository.RewardRepository;
 import com.questgamification.repository.UserRepository;
+import com.questgamification.service.AdminListingService;
+import com.questgamification.service.AdminStatsService;
 import com.questgamification.service.NotificationService;
 import com.questgamification.service.QuestService;
 import com.questgamification.service.RewardService;
 import com.questgamification.service.UserService;
+import com.questgamification.service.UserStatsService;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -39,6 +42,21 @@ public class TestSecurityConfig {
         return Mockito.mock(RewardService.class);
     }
 
+    @Bean
+    public AdminListingService adminListingService() {
+        return Mockito.mock(AdminListingService.class);
+    }
+
+    @Bean
+    public AdminStatsService adminStatsService() {
+        return Mockito.mock(AdminStatsService.class);
+    }
+
+    @Bean
+    public UserStatsService userStatsService() {
+        return Mockito.mock(UserStatsService.class);
+    }
+
     @Bean
     public QuestRepository questRepository() {
         return Mockito.mock(QuestRepository.class);
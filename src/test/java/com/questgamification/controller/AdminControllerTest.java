@@ -1,9 +1,18 @@
 package com.questgamification.controller;
 
 import com.questgamification.config.TestSecurityConfig;
+import com.questgamification.domain.dto.AdminQuestRow;
+import com.questgamification.domain.dto.AdminUserRow;
+import com.questgamification.domain.dto.KeysetPage;
+import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.domain.entity.QuestType;
 import com.questgamification.domain.entity.Role;
 import com.questgamification.domain.entity.User;
+import com.questgamification.service.AdminListingService;
+import com.questgamification.service.AdminStatsService;
+import com.questgamification.service.QuestService;
 import com.questgamification.service.UserService;
+import com.questgamification.service.UserStatsService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -29,21 +38,72 @@ class AdminControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserStatsService userStatsService;
+
+    @MockitoBean
+    private AdminStatsService adminStatsService;
+
+    @MockitoBean
+    private AdminListingService adminListingService;
+
+    @MockitoBean
+    private QuestService questService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testAdminDashboard_UsesAggregateOverview() throws Exception {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalUsers", 10L);
+        stats.put("activeQuests", 4L);
+        when(adminStatsService.getOverview()).thenReturn(stats);
+
+        mockMvc.perform(get("/admin"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin-dashboard"))
+                .andExpect(model().attribute("stats", stats));
+
+        verify(userService, never()).findAll();
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void testManageUsers() throws Exception {
-        User user = new User();
-        user.setId(UUID.randomUUID());
-        user.setUsername("testuser");
-        user.setEmail("test@example.com");
-        user.setLevel(1);
+        AdminUserRow user = new AdminUserRow(UUID.randomUUID(), "testuser", "test@example.com", 1, 0L);
+        user.getRoles().add(Role.USER);
 
-        when(userService.findAll()).thenReturn(Arrays.asList(user));
+        when(adminListingService.findUsers(null, null))
+                .thenReturn(new KeysetPage<>(List.of(user), "testuser", null));
 
         mockMvc.perform(get("/admin/users"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin-users"))
-                .andExpect(model().attributeExists("users"));
+                .andExpect(model().attributeExists("users"))
+                .andExpect(model().attributeExists("page"));
+
+        verify(userService, never()).findAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testManageQuests_PassesFiltersAndCursor() throws Exception {
+        UUID afterId = UUID.randomUUID();
+        AdminQuestRow quest = new AdminQuestRow(UUID.randomUUID(), "Run", "testuser", QuestStatus.ACTIVE,
+                QuestType.DAILY, 100L, java.time.LocalDate.now(), java.time.LocalDate.now().plusDays(5));
+
+        when(adminListingService.findQuests(QuestStatus.ACTIVE, QuestType.DAILY, "testuser", "endDate",
+                "2024-06-11", afterId))
+                .thenReturn(new KeysetPage<>(List.of(quest), null, null));
+
+        mockMvc.perform(get("/admin/quests")
+                        .param("status", "ACTIVE")
+                        .param("type", "DAILY")
+                        .param("username", "testuser")
+                        .param("afterKey", "2024-06-11")
+                        .param("afterId", afterId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin-quests"))
+                .andExpect(model().attribute("quests", List.of(quest)));
     }
 
     @Test
@@ -63,4 +123,42 @@ class AdminControllerTest {
 
         verify(userService, times(1)).updateUserRole(userId, Role.ADMIN);
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testDeleteQuest_DelegatesToService() throws Exception {
+        UUID questId = UUID.randomUUID();
+
+        mockMvc.perform(post("/admin/quests/" + questId + "/delete").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/admin/quests"))
+                .andExpect(flash().attribute("success", "Quest deleted successfully!"));
+
+        verify(questService, times(1)).deleteQuestAsAdmin(questId);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testDeleteQuest_NotFound() throws Exception {
+        UUID questId = UUID.randomUUID();
+        doThrow(new IllegalArgumentException("Quest not found")).when(questService).deleteQuestAsAdmin(questId);
+
+        mockMvc.perform(post("/admin/quests/" + questId + "/delete").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/admin/quests"))
+                .andExpect(flash().attribute("error", "Quest not found"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testRebuildUserStats() throws Exception {
+        when(userStatsService.rebuildAll()).thenReturn(3);
+
+        mockMvc.perform(post("/admin/stats/rebuild").with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/admin"))
+                .andExpect(flash().attribute("success", "Stats rebuilt for 3 users."));
+
+        verify(userStatsService, times(1)).rebuildAll();
+    }
+}
@@ -1,6 +1,7 @@
 package com.questgamification.controller;
 
 import com.questgamification.config.TestSecurityConfig;
+import com.questgamification.domain.dto.UserView;
 import com.questgamification.domain.entity.*;
 import com.questgamification.service.*;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,18 +41,23 @@ class DashboardControllerTest {
     void testDashboard() throws Exception {
         User user = new User();
         user.setId(UUID.randomUUID());
-        user.setUsername("testuser");
+        user.setUsername("user");
         user.setLevel(1);
 
-        when(userService.findByUsername("user")).thenReturn(Optional.of(user));
-        when(questService.findByUserAndStatus(any(User.class), any(QuestStatus.class))).thenReturn(new ArrayList<>());
-        when(statsService.getUserStats(any(User.class))).thenReturn(new HashMap<>());
+        when(userService.findViewByUsername("user")).thenReturn(Optional.of(UserView.from(user)));
+        when(questService.findByUserAndStatus(any(UUID.class), any(QuestStatus.class))).thenReturn(new ArrayList<>());
+        when(questService.getQuestsReadyForCheckIn(any(UUID.class), anyList())).thenReturn(new ArrayList<>());
+        when(statsService.getUserStats(any(UserView.class))).thenReturn(new HashMap<>());
 
         mockMvc.perform(get("/dashboard"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("dashboard"))
                 .andExpect(model().attributeExists("user"))
                 .andExpect(model().attributeExists("activeQuests"))
+                .andExpect(model().attributeExists("readyForCheckIn"))
                 .andExpect(model().attributeExists("stats"));
+
+        // The unread-count advice and the handler share one lookup
+        verify(userService, times(1)).findViewByUsername("user");
     }
 }
\ No newline at end of file
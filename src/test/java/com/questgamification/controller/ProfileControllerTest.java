@@ -1,6 +1,7 @@
 package com.questgamification.controller;
 
 import com.questgamification.config.TestSecurityConfig;
+import com.questgamification.domain.dto.UserView;
 import com.questgamification.domain.entity.User;
 import com.questgamification.service.UserService;
 import org.junit.jupiter.api.Test;
@@ -38,7 +39,7 @@ class ProfileControllerTest {
         user.setUsername("testuser");
         user.setEmail("test@example.com");
 
-        when(userService.findByUsername("user")).thenReturn(Optional.of(user));
+        when(userService.findViewByUsername("user")).thenReturn(Optional.of(UserView.from(user)));
 
         mockMvc.perform(get("/profile"))
                 .andExpect(status().isOk())
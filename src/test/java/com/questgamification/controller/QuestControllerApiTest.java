@@ -1,5 +1,6 @@
 package com.questgamification.controller;
 
+import com.questgamification.domain.dto.UserView;
 import com.questgamification.domain.entity.Quest;
 import com.questgamification.domain.entity.QuestStatus;
 import com.questgamification.domain.entity.QuestType;
@@ -48,7 +49,7 @@ class QuestControllerApiTest {
         mockUser.setId(UUID.randomUUID());
         mockUser.setUsername("user");
         mockUser.setLevel(1);
-        when(userService.findByUsername("user")).thenReturn(java.util.Optional.of(mockUser));
+        when(userService.findViewByUsername("user")).thenReturn(java.util.Optional.of(UserView.from(mockUser)));
         when(rewardService.getAvailableRewards(1)).thenReturn(new java.util.ArrayList<>());
         
         mockMvc.perform(get("/quests/create").with(csrf()))
@@ -1,6 +1,7 @@
 package com.questgamification.controller;
 
 import com.questgamification.config.TestSecurityConfig;
+import com.questgamification.domain.dto.UserView;
 import com.questgamification.domain.entity.User;
 import com.questgamification.service.*;
 import org.junit.jupiter.api.Test;
@@ -45,8 +46,8 @@ class StatsControllerTest {
         stats.put("activeQuests", 3L);
         stats.put("achievementsCount", 2);
 
-        when(userService.findByUsername("user")).thenReturn(Optional.of(user));
-        when(statsService.getUserStats(any(User.class))).thenReturn(stats);
+        when(userService.findViewByUsername("user")).thenReturn(Optional.of(UserView.from(user)));
+        when(statsService.getUserStats(any(UserView.class))).thenReturn(stats);
         when(statsService.getAnalyticsData(any(UUID.class))).thenReturn(new HashMap<>());
 
         mockMvc.perform(get("/stats"))
@@ -1,18 +1,21 @@
 package com.questgamification.integration;
 
+import com.questgamification.domain.entity.CheckIn;
 import com.questgamification.domain.entity.Quest;
 import com.questgamification.domain.entity.QuestStatus;
 import com.questgamification.domain.entity.QuestType;
 import com.questgamification.domain.entity.User;
+import com.questgamification.repository.CheckInRepository;
 import com.questgamification.repository.QuestRepository;
 import com.questgamification.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
-import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,31 +29,79 @@ class QuestIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CheckInRepository checkInRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void testCreateAndFindQuest() {
+        Quest savedQuest = questRepository.save(quest(user(), QuestType.DAILY));
+
+        assertNotNull(savedQuest.getId());
+        assertEquals("Test Quest", savedQuest.getTitle());
+        assertEquals(QuestStatus.ACTIVE, savedQuest.getStatus());
+    }
+
+    @Test
+    void testExistsInWeek_MatchesLegacyRowWithoutWeekKey() {
+        User user = user();
+        Quest quest = questRepository.save(quest(user, QuestType.WEEKLY));
+        // 2024-06-12 is a Wednesday in ISO week 2024-24 (Monday 2024-06-10 to Sunday 2024-06-16)
+        CheckIn legacy = new CheckIn(quest, user);
+        legacy.setCheckInDate(LocalDate.of(2024, 6, 12));
+        checkInRepository.saveAndFlush(legacy);
+        jdbcTemplate.update("UPDATE check_ins SET check_in_week = NULL");
+
+        assertTrue(checkInRepository.existsInWeek(quest.getId(), user.getId(), 202424,
+            LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 16)));
+        assertFalse(checkInRepository.existsInWeek(quest.getId(), user.getId(), 202425,
+            LocalDate.of(2024, 6, 17), LocalDate.of(2024, 6, 23)));
+    }
+
+    @Test
+    void testWeeklyCheckInKey_AllowsOneWeeklyCheckInPerWeek() {
+        User user = user();
+        Quest weekly = questRepository.save(quest(user, QuestType.WEEKLY));
+        Quest daily = questRepository.save(quest(user, QuestType.DAILY));
+        // Monday and Wednesday of ISO week 2024-24
+        checkInRepository.saveAndFlush(checkIn(daily, user, LocalDate.of(2024, 6, 10)));
+        checkInRepository.saveAndFlush(checkIn(daily, user, LocalDate.of(2024, 6, 12)));
+        checkInRepository.saveAndFlush(checkIn(weekly, user, LocalDate.of(2024, 6, 10)));
+
+        assertThrows(DataIntegrityViolationException.class,
+            () -> checkInRepository.saveAndFlush(checkIn(weekly, user, LocalDate.of(2024, 6, 12))));
+    }
+
+    private User user() {
         User user = new User();
         user.setUsername("testuser");
         user.setEmail("test@example.com");
         user.setPassword("password");
         user.setLevel(1);
         user.setExperiencePoints(0L);
-        user = userRepository.save(user);
+        return userRepository.save(user);
+    }
 
+    private static CheckIn checkIn(Quest quest, User user, LocalDate day) {
+        CheckIn checkIn = new CheckIn(quest, user);
+        checkIn.setCheckInDate(day);
+        return checkIn;
+    }
+
+    private static Quest quest(User user, QuestType questType) {
         Quest quest = new Quest();
         quest.setTitle("Test Quest");
         quest.setDescription("Test Description");
-        quest.setQuestType(QuestType.DAILY);
+        quest.setQuestType(questType);
         quest.setStatus(QuestStatus.ACTIVE);
         quest.setExperienceReward(100L);
+        quest.setCheckInGoal(4);
         quest.setStartDate(LocalDate.now());
         quest.setEndDate(LocalDate.now().plusDays(1));
         quest.setUser(user);
-
-        Quest savedQuest = questRepository.save(quest);
-
-        assertNotNull(savedQuest.getId());
-        assertEquals("Test Quest", savedQuest.getTitle());
-        assertEquals(QuestStatus.ACTIVE, savedQuest.getStatus());
+        return quest;
     }
 }
 
@@ -0,0 +1,133 @@
+package com.questgamification.scheduler;
+
+import com.questgamification.domain.dto.UserIdRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLeaseServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private static final LocalDateTime FIRING = LocalDateTime.of(2026, 10, 17, 9, 0);
+
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        schedulerLeaseService = new SchedulerLeaseService(jdbcTemplate, "node-a",
+            Duration.ofMinutes(30), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void testRunExclusively_SkipsWhenLeaseHeld() {
+        when(jdbcTemplate.update(anyString(), eq("quest-expiration"), eq("node-a"), anyLong())).thenReturn(0);
+        Runnable task = mock(Runnable.class);
+
+        boolean ran = schedulerLeaseService.runExclusively("quest-expiration", task);
+
+        assertFalse(ran);
+        verify(task, never()).run();
+    }
+
+    @Test
+    void testRunExclusively_ReleasesAfterTask() {
+        lenient().when(jdbcTemplate.update(anyString(), eq("quest-expiration"), eq("node-a"), anyLong())).thenReturn(1);
+        Runnable task = mock(Runnable.class);
+
+        boolean ran = schedulerLeaseService.runExclusively("quest-expiration", task);
+
+        assertTrue(ran);
+        verify(task).run();
+        verify(jdbcTemplate).update(anyString(), eq(30000L), eq("quest-expiration"), eq("node-a"));
+    }
+
+    @Test
+    void testRunPartitioned_OnlyRunsAcquiredPartitions() {
+        lenient().when(jdbcTemplate.update(anyString(), anyString(), eq("node-a"), anyLong(), eq(FIRING)))
+            .thenAnswer(invocation -> invocation.getArgument(1, String.class).endsWith(":1") ? 0 : 1);
+        List<UserIdRange> ranges = new ArrayList<>();
+
+        int processed = schedulerLeaseService.runPartitioned("reminders", FIRING, 4, ranges::add);
+
+        assertEquals(3, processed);
+        assertEquals(3, ranges.size());
+        UUID skippedFrom = UserIdRange.partition(1, 4).getFrom();
+        assertTrue(ranges.stream().noneMatch(range -> range.getFrom().equals(skippedFrom)));
+        verify(jdbcTemplate, times(3)).update(anyString(), eq(FIRING), eq(30000L), anyString(), eq("node-a"));
+    }
+
+    @Test
+    void testRunPartitioned_LateNodeGetsNoPartitionsOfCompletedFiring() {
+        // Node a finishes every partition of the 09:00 firing; its minimum hold has long expired when node b's
+        // delayed trigger arrives, but the partitions are recorded complete for that firing
+        Set<String> completed = new HashSet<>();
+        when(jdbcTemplate.update(anyString(), anyString(), anyString(), anyLong(), eq(FIRING)))
+            .thenAnswer(invocation -> completed.contains(invocation.getArgument(1, String.class)) ? 0 : 1);
+        when(jdbcTemplate.update(anyString(), eq(FIRING), anyLong(), anyString(), anyString()))
+            .thenAnswer(invocation -> completed.add(invocation.getArgument(3, String.class)) ? 1 : 0);
+        SchedulerLeaseService lateNode = new SchedulerLeaseService(jdbcTemplate, "node-b",
+            Duration.ofMinutes(30), Duration.ofSeconds(30));
+        List<UserIdRange> lateRanges = new ArrayList<>();
+
+        assertEquals(4, schedulerLeaseService.runPartitioned("reminders", FIRING, 4, range -> { }));
+        int processed = lateNode.runPartitioned("reminders", FIRING, 4, lateRanges::add);
+
+        assertEquals(0, processed);
+        assertTrue(lateRanges.isEmpty());
+    }
+
+    @Test
+    void testRunPartitioned_FailedPartitionIsReleasedNotCompleted() {
+        when(jdbcTemplate.update(anyString(), anyString(), eq("node-a"), anyLong(), eq(FIRING))).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> schedulerLeaseService.runPartitioned("reminders", FIRING, 1,
+            range -> { throw new IllegalStateException("boom"); }));
+
+        verify(jdbcTemplate).update(anyString(), eq(30000L), eq("reminders:0"), eq("node-a"));
+        verify(jdbcTemplate, never()).update(anyString(), eq(FIRING), anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void testLatestFiring_ResolvesScheduledTimeForLateTrigger() {
+        LocalDateTime lateTrigger = LocalDateTime.of(2026, 10, 17, 9, 4, 12);
+
+        assertEquals(LocalDateTime.of(2026, 10, 17, 9, 0),
+            SchedulerLeaseService.latestFiring("0 0 9 * * *", lateTrigger));
+        assertEquals(LocalDateTime.of(2026, 10, 11, 18, 0),
+            SchedulerLeaseService.latestFiring("0 0 18 * * 0", lateTrigger));
+    }
+
+    @Test
+    void testUserIdRangePartitions_CoverWholeKeySpace() {
+        int count = 5;
+        UUID previousTo = null;
+        for (int i = 0; i < count; i++) {
+            UserIdRange range = UserIdRange.partition(i, count);
+            if (previousTo == null) {
+                assertEquals(new UUID(0L, 0L), range.getFrom());
+            } else {
+                assertEquals(previousTo.getMostSignificantBits() + 1, range.getFrom().getMostSignificantBits());
+            }
+            previousTo = range.getTo();
+        }
+        assertEquals(new UUID(-1L, -1L), previousTo);
+    }
+}
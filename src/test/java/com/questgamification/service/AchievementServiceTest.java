@@ -5,13 +5,13 @@ import com.questgamification.repository.AchievementRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,7 +20,15 @@ class AchievementServiceTest {
     @Mock
     private AchievementRepository achievementRepository;
 
-    @InjectMocks
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private StreakService streakService;
+
     private AchievementService achievementService;
 
     private User testUser;
@@ -28,6 +36,9 @@ class AchievementServiceTest {
 
     @BeforeEach
     void setUp() {
+        achievementService = new AchievementService(achievementRepository, notificationService, userStatsService,
+            new AchievementRuleIndex(achievementRepository), streakService);
+
         testUser = new User();
         testUser.setId(UUID.randomUUID());
         testUser.setUsername("testuser");
@@ -70,10 +81,13 @@ class AchievementServiceTest {
     @Test
     void testCheckAndAwardAchievements_LevelReached() {
         when(achievementRepository.findAll()).thenReturn(Arrays.asList(testAchievement));
+        when(userStatsService.getOrBuild(testUser.getId())).thenReturn(stats(0));
 
         achievementService.checkAndAwardAchievements(testUser);
 
         assertTrue(testUser.getAchievements().contains(testAchievement));
+        verify(userStatsService).achievementGranted(testUser.getId());
+        verify(notificationService).createAchievementUnlockedNotification(testUser, testAchievement);
     }
 
     @Test
@@ -81,6 +95,7 @@ class AchievementServiceTest {
         testAchievement.setAchievementType(AchievementType.TOTAL_XP_EARNED);
         testAchievement.setRequirementValue(500);
         when(achievementRepository.findAll()).thenReturn(Arrays.asList(testAchievement));
+        when(userStatsService.getOrBuild(testUser.getId())).thenReturn(stats(0));
 
         achievementService.checkAndAwardAchievements(testUser);
 
@@ -88,14 +103,24 @@ class AchievementServiceTest {
     }
 
     @Test
-    void testCheckAndAwardAchievements_QuestsCompleted() {
-        Quest completedQuest = new Quest();
-        completedQuest.setStatus(QuestStatus.COMPLETED);
-        testUser.getQuests().add(completedQuest);
-
+    void testCheckAndAwardAchievements_QuestsCompletedUsesCounters() {
         testAchievement.setAchievementType(AchievementType.QUESTS_COMPLETED);
         testAchievement.setRequirementValue(1);
         when(achievementRepository.findAll()).thenReturn(Arrays.asList(testAchievement));
+        when(userStatsService.getOrBuild(testUser.getId())).thenReturn(stats(1));
+
+        achievementService.checkAndAwardAchievements(testUser);
+
+        assertTrue(testUser.getAchievements().contains(testAchievement));
+    }
+
+    @Test
+    void testCheckAndAwardAchievements_StreakDaysUsesLongestStreak() {
+        testAchievement.setAchievementType(AchievementType.STREAK_DAYS);
+        testAchievement.setRequirementValue(7);
+        when(achievementRepository.findAll()).thenReturn(Arrays.asList(testAchievement));
+        when(userStatsService.getOrBuild(testUser.getId())).thenReturn(stats(0));
+        when(streakService.getLongestStreak(testUser.getId())).thenReturn(7);
 
         achievementService.checkAndAwardAchievements(testUser);
 
@@ -106,9 +131,64 @@ class AchievementServiceTest {
     void testCheckAndAwardAchievements_AlreadyUnlocked() {
         testUser.getAchievements().add(testAchievement);
         when(achievementRepository.findAll()).thenReturn(Arrays.asList(testAchievement));
+        when(userStatsService.getOrBuild(testUser.getId())).thenReturn(stats(0));
 
         achievementService.checkAndAwardAchievements(testUser);
 
         assertEquals(1, testUser.getAchievements().size());
+        verify(userStatsService, never()).achievementGranted(any());
+    }
+
+    @Test
+    void testOnMetricChanged_OnlyAwardsCrossedThresholds() {
+        Achievement passedEarlier = achievement(AchievementType.TOTAL_XP_EARNED, 100);
+        Achievement justCrossed = achievement(AchievementType.TOTAL_XP_EARNED, 500);
+        Achievement notYet = achievement(AchievementType.TOTAL_XP_EARNED, 5000);
+        when(achievementRepository.findAll()).thenReturn(List.of(passedEarlier, justCrossed, notYet, testAchievement));
+
+        List<Achievement> awarded = achievementService.onMetricChanged(testUser, AchievementType.TOTAL_XP_EARNED, 400, 600);
+
+        assertEquals(List.of(justCrossed), awarded);
+        assertEquals(Set.of(justCrossed), testUser.getAchievements());
+    }
+
+    @Test
+    void testOnMetricChanged_NoCandidatesSkipsUserState() {
+        when(achievementRepository.findAll()).thenReturn(List.of(testAchievement));
+        User user = mock(User.class);
+
+        List<Achievement> awarded = achievementService.onMetricChanged(user, AchievementType.LEVEL_REACHED, 3, 4);
+
+        assertTrue(awarded.isEmpty());
+        verifyNoInteractions(user, userStatsService, notificationService);
+    }
+
+    @Test
+    void testOnMetricChanged_MatchesUnlockedAchievementsById() {
+        Achievement loadedElsewhere = achievement(AchievementType.LEVEL_REACHED, 3);
+        loadedElsewhere.setId(testAchievement.getId());
+        testUser.getAchievements().add(loadedElsewhere);
+        when(achievementRepository.findAll()).thenReturn(List.of(testAchievement));
+
+        List<Achievement> awarded = achievementService.onMetricChanged(testUser, AchievementType.LEVEL_REACHED, 2, 3);
+
+        assertTrue(awarded.isEmpty());
+        assertEquals(1, testUser.getAchievements().size());
+    }
+
+    private Achievement achievement(AchievementType type, int requirement) {
+        Achievement achievement = new Achievement();
+        achievement.setId(UUID.randomUUID());
+        achievement.setName(type + " " + requirement);
+        achievement.setAchievementType(type);
+        achievement.setRequirementValue(requirement);
+        return achievement;
+    }
+
+    private UserStats stats(int completedQuests) {
+        UserStats stats = new UserStats();
+        stats.setUserId(testUser.getId());
+        stats.setCompletedQuests(completedQuests);
+        return stats;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.AdminQuestRow;
+import com.questgamification.domain.dto.AdminUserRow;
+import com.questgamification.domain.dto.KeysetPage;
+import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.domain.entity.QuestType;
+import com.questgamification.domain.entity.Role;
+import com.questgamification.repository.QuestRepository;
+import com.questgamification.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminListingServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private QuestRepository questRepository;
+
+    private AdminListingService adminListingService;
+
+    @BeforeEach
+    void setUp() {
+        adminListingService = new AdminListingService(userRepository, questRepository, 2);
+    }
+
+    @Test
+    void testFindUsers_FetchesOneExtraRowAndMergesRoles() {
+        AdminUserRow alice = new AdminUserRow(UUID.randomUUID(), "alice", "a@example.com", 1, 0L);
+        AdminUserRow bob = new AdminUserRow(UUID.randomUUID(), "bob", "b@example.com", 1, 0L);
+        AdminUserRow carol = new AdminUserRow(UUID.randomUUID(), "carol", "c@example.com", 1, 0L);
+        when(userRepository.findAdminPage("a!_%", "", PageRequest.of(0, 3)))
+            .thenReturn(new ArrayList<>(List.of(alice, bob, carol)));
+        List<Object[]> roles = new ArrayList<>();
+        roles.add(new Object[]{alice.getId(), Role.ADMIN});
+        when(userRepository.findRolesByUserIds(anyCollection())).thenReturn(roles);
+
+        KeysetPage<AdminUserRow> page = adminListingService.findUsers("A_", null);
+
+        assertEquals(List.of(alice, bob), page.getItems());
+        assertTrue(page.hasNext());
+        assertEquals("bob", page.getNextKey());
+        assertTrue(alice.getRoles().contains(Role.ADMIN));
+    }
+
+    @Test
+    void testFindQuests_SeeksFromCursor() {
+        UUID afterId = UUID.randomUUID();
+        AdminQuestRow row = new AdminQuestRow(UUID.randomUUID(), "Run", "alice", QuestStatus.ACTIVE,
+            QuestType.DAILY, 100L, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 20));
+        when(questRepository.findAdminPageByEndDate(eq(EnumSet.of(QuestStatus.ACTIVE)), eq(EnumSet.allOf(QuestType.class)),
+                eq(""), eq(LocalDate.of(2024, 6, 11)), eq(afterId), any()))
+            .thenReturn(List.of(row));
+
+        KeysetPage<AdminQuestRow> page = adminListingService.findQuests(QuestStatus.ACTIVE, null, null,
+            AdminListingService.SORT_END_DATE, "2024-06-11", afterId);
+
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.hasNext());
+        verify(questRepository, never()).findAll();
+    }
+}
@@ -0,0 +1,56 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.repository.AchievementRepository;
+import com.questgamification.repository.QuestRepository;
+import com.questgamification.repository.RewardRepository;
+import com.questgamification.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminStatsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private QuestRepository questRepository;
+
+    @Mock
+    private RewardRepository rewardRepository;
+
+    @Mock
+    private AchievementRepository achievementRepository;
+
+    @InjectMocks
+    private AdminStatsService adminStatsService;
+
+    @Test
+    void testGetOverview_UsesGroupedCounts() {
+        List<Object[]> grouped = new ArrayList<>();
+        grouped.add(new Object[]{QuestStatus.ACTIVE, 5L});
+        grouped.add(new Object[]{QuestStatus.COMPLETED, 3L});
+        when(questRepository.countGroupedByStatus()).thenReturn(grouped);
+        when(userRepository.count()).thenReturn(7L);
+        when(rewardRepository.count()).thenReturn(2L);
+        when(achievementRepository.count()).thenReturn(9L);
+
+        Map<String, Object> stats = adminStatsService.getOverview();
+
+        assertEquals(7L, stats.get("totalUsers"));
+        assertEquals(8L, stats.get("totalQuests"));
+        assertEquals(5L, stats.get("activeQuests"));
+        assertEquals(3L, stats.get("completedQuests"));
+        assertEquals(0L, stats.get("expiredQuests"));
+        verify(questRepository, never()).findAll();
+    }
+}
@@ -0,0 +1,104 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.AnalyticsOutboxEvent;
+import com.questgamification.repository.AnalyticsOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsShipperTest {
+
+    @Mock
+    private AnalyticsOutboxRepository analyticsOutboxRepository;
+
+    @Mock
+    private QuestAnalyticsClient questAnalyticsClient;
+
+    private AnalyticsShipper analyticsShipper;
+
+    @BeforeEach
+    void setUp() {
+        analyticsShipper = new AnalyticsShipper(analyticsOutboxRepository, questAnalyticsClient, 10,
+            Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofSeconds(25), 2, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testShip_DeletesDeliveredEvents() {
+        List<AnalyticsOutboxEvent> events = events(3);
+        when(analyticsOutboxRepository.findDue(any(LocalDateTime.class), any(Pageable.class))).thenReturn(events);
+
+        int shipped = analyticsShipper.ship();
+
+        assertEquals(3, shipped);
+        verify(questAnalyticsClient, times(3)).recordQuestCompletion(any(), any(), any());
+        verify(analyticsOutboxRepository).deleteAllByIdInBatch(events.stream().map(AnalyticsOutboxEvent::getId).toList());
+        verify(analyticsOutboxRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testShip_SchedulesRetryWithoutDroppingFailedEvent() {
+        List<AnalyticsOutboxEvent> events = events(1);
+        AnalyticsOutboxEvent event = events.get(0);
+        when(analyticsOutboxRepository.findDue(any(LocalDateTime.class), any(Pageable.class))).thenReturn(events);
+        doThrow(new RuntimeException("connection refused"))
+            .when(questAnalyticsClient).recordQuestCompletion(any(), any(), any());
+
+        int shipped = analyticsShipper.ship();
+
+        assertEquals(0, shipped);
+        assertEquals(1, event.getAttempts());
+        assertEquals("connection refused", event.getLastError());
+        assertTrue(event.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+        verify(analyticsOutboxRepository).saveAll(List.of(event));
+        verify(analyticsOutboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void testShip_StopsCallingOnceCircuitOpens() {
+        List<AnalyticsOutboxEvent> events = events(5);
+        when(analyticsOutboxRepository.findDue(any(LocalDateTime.class), any(Pageable.class))).thenReturn(events);
+        doThrow(new RuntimeException("timeout")).when(questAnalyticsClient).recordQuestCompletion(any(), any(), any());
+
+        analyticsShipper.ship();
+
+        verify(questAnalyticsClient, times(2)).recordQuestCompletion(any(), any(), any());
+        assertEquals(CircuitBreaker.State.OPEN, analyticsShipper.getCircuitState());
+        // Untouched events keep their original schedule
+        assertEquals(0, events.get(4).getAttempts());
+    }
+
+    @Test
+    void testBackoff_GrowsExponentiallyUpToCap() {
+        Duration first = analyticsShipper.backoff(1);
+        Duration third = analyticsShipper.backoff(3);
+        Duration capped = analyticsShipper.backoff(40);
+
+        assertTrue(first.toMillis() >= 24_000 && first.toMillis() <= 36_000);
+        assertTrue(third.toMillis() >= 96_000 && third.toMillis() <= 144_000);
+        assertTrue(capped.toMillis() <= Duration.ofHours(1).toMillis() * 12 / 10);
+    }
+
+    private static List<AnalyticsOutboxEvent> events(int count) {
+        List<AnalyticsOutboxEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            AnalyticsOutboxEvent event = AnalyticsOutboxEvent.questCompletion(UUID.randomUUID(), UUID.randomUUID(), 100L);
+            event.setId(UUID.randomUUID());
+            events.add(event);
+        }
+        return events;
+    }
+}
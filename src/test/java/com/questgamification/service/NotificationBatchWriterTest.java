@@ -0,0 +1,92 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.NotificationDraft;
+import com.questgamification.domain.entity.NotificationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationBatchWriterTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private NotificationStreamRegistry notificationStreamRegistry;
+
+    @Mock
+    private NotificationRelay notificationRelay;
+
+    private NotificationBatchWriter notificationBatchWriter;
+
+    @BeforeEach
+    void setUp() {
+        notificationBatchWriter = new NotificationBatchWriter(jdbcTemplate, unreadNotificationCounter,
+            notificationStreamRegistry, notificationRelay, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testWrite_AnnouncesImmediatelyWithoutTransaction() {
+        List<NotificationDraft> drafts = List.of(draft(), draft());
+
+        notificationBatchWriter.write(drafts);
+
+        verify(unreadNotificationCounter).added(Map.of(USER_ID, 2));
+        verify(notificationStreamRegistry).notificationsCreated(drafts);
+        verify(notificationRelay).changed(Set.of(USER_ID));
+    }
+
+    @Test
+    void testWrite_InsideTransactionAnnouncesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        List<NotificationDraft> drafts = List.of(draft());
+
+        notificationBatchWriter.write(drafts);
+        verifyNoInteractions(unreadNotificationCounter, notificationStreamRegistry, notificationRelay);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(unreadNotificationCounter).added(Map.of(USER_ID, 1));
+        verify(notificationStreamRegistry).notificationsCreated(drafts);
+    }
+
+    @Test
+    void testWrite_RollbackAnnouncesNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        notificationBatchWriter.write(List.of(draft()));
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(unreadNotificationCounter, notificationStreamRegistry, notificationRelay);
+    }
+
+    private NotificationDraft draft() {
+        return new NotificationDraft(USER_ID, null, NotificationType.SYSTEM, "message");
+    }
+}
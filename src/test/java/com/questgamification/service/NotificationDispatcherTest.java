@@ -0,0 +1,167 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.NotificationDraft;
+import com.questgamification.domain.entity.NotificationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock
+    private NotificationBatchWriter notificationBatchWriter;
+
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(dispatcher);
+    }
+
+    @Test
+    void testEnqueue_WritesDirectlyWhenNotStarted() {
+        dispatcher = new NotificationDispatcher(notificationBatchWriter, 10, 100, Duration.ofSeconds(5), 3);
+        NotificationDraft draft = draft();
+
+        dispatcher.enqueue(draft);
+
+        verify(notificationBatchWriter).write(List.of(draft));
+        assertEquals(0, dispatcher.getQueuedCount());
+    }
+
+    @Test
+    void testStop_DrainsQueuedNotifications() {
+        dispatcher = new NotificationDispatcher(notificationBatchWriter, 10, 100, Duration.ofSeconds(5), 3);
+        dispatcher.start();
+
+        dispatcher.enqueue(draft());
+        dispatcher.enqueue(draft());
+        dispatcher.stop();
+
+        assertEquals(0, dispatcher.getQueuedCount());
+        verify(notificationBatchWriter, atLeastOnce()).write(anyList());
+        assertEquals(2, writtenDrafts().size());
+    }
+
+    @Test
+    void testTransaction_QueuesOnlyAfterCommit() {
+        dispatcher = new NotificationDispatcher(notificationBatchWriter, 10, 100, Duration.ofSeconds(5), 3);
+        dispatcher.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        dispatcher.enqueue(draft());
+        TransactionSynchronization pending = TransactionSynchronizationManager.getSynchronizations().get(0);
+        pending.beforeCommit(false);
+
+        assertEquals(0, dispatcher.getQueuedCount());
+        verifyNoInteractions(notificationBatchWriter);
+
+        pending.afterCommit();
+        pending.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        dispatcher.stop();
+
+        assertEquals(1, writtenDrafts().size());
+    }
+
+    @Test
+    void testTransaction_OverflowIsWrittenInTransaction() {
+        dispatcher = new NotificationDispatcher(notificationBatchWriter, 1, 100, Duration.ofSeconds(5), 3);
+        dispatcher.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        NotificationDraft first = draft();
+        NotificationDraft second = draft();
+        dispatcher.enqueue(first);
+        dispatcher.enqueue(second);
+        TransactionSynchronization pending = TransactionSynchronizationManager.getSynchronizations().get(0);
+        pending.beforeCommit(false);
+
+        verify(notificationBatchWriter).write(List.of(second));
+
+        pending.afterCommit();
+        pending.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        dispatcher.stop();
+
+        assertEquals(List.of(second, first), writtenDrafts());
+    }
+
+    @Test
+    void testTransaction_RollbackDiscardsDrafts() {
+        dispatcher = new NotificationDispatcher(notificationBatchWriter, 10, 100, Duration.ofSeconds(5), 3);
+        dispatcher.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        dispatcher.enqueue(draft());
+        TransactionSynchronization pending = TransactionSynchronizationManager.getSynchronizations().get(0);
+        pending.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        dispatcher.stop();
+
+        assertEquals(0, dispatcher.getQueuedCount());
+        verifyNoInteractions(notificationBatchWriter);
+    }
+
+    @Test
+    void testFlush_DropsOnlyTheRowThatViolatesConstraints() {
+        dispatcher = new NotificationDispatcher(notificationBatchWriter, 10, 100, Duration.ofSeconds(5), 3);
+        NotificationDraft good = draft();
+        NotificationDraft poisoned = draft();
+        doAnswer(invocation -> {
+            List<NotificationDraft> batch = invocation.getArgument(0);
+            if (batch.contains(poisoned)) {
+                throw new DataIntegrityViolationException("fk_notifications_user");
+            }
+            return null;
+        }).when(notificationBatchWriter).write(anyList());
+        dispatcher.start();
+
+        dispatcher.enqueue(good);
+        dispatcher.enqueue(poisoned);
+        dispatcher.stop();
+
+        verify(notificationBatchWriter).write(List.of(good));
+        // Non-transient failures are not retried
+        verify(notificationBatchWriter, times(1)).write(List.of(poisoned));
+    }
+
+    @Test
+    void testFlush_RetriesTransientFailureUpToLimit() {
+        dispatcher = new NotificationDispatcher(notificationBatchWriter, 10, 100, Duration.ofSeconds(5), 2);
+        doThrow(new QueryTimeoutException("timeout")).when(notificationBatchWriter).write(anyList());
+        dispatcher.start();
+
+        dispatcher.enqueue(draft());
+        dispatcher.stop();
+
+        verify(notificationBatchWriter, times(2)).write(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NotificationDraft> writtenDrafts() {
+        ArgumentCaptor<List<NotificationDraft>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationBatchWriter, atLeastOnce()).write(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    private NotificationDraft draft() {
+        return new NotificationDraft(UUID.randomUUID(), null, NotificationType.SYSTEM, "message");
+    }
+}
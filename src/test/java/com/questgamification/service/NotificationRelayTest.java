@@ -0,0 +1,104 @@
+package com.questgamification.service;
+
+import com.questgamification.cache.CacheInvalidationBus;
+import com.questgamification.cache.InMemoryInvalidationTransport;
+import com.questgamification.domain.dto.NotificationView;
+import com.questgamification.domain.entity.NotificationType;
+import com.questgamification.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRelayTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private NotificationStreamRegistry senderRegistry;
+
+    @Mock
+    private UnreadNotificationCounter senderCounter;
+
+    @Mock
+    private NotificationStreamRegistry receiverRegistry;
+
+    @Mock
+    private UnreadNotificationCounter receiverCounter;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private NotificationRelay sender;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryInvalidationTransport transport = new InMemoryInvalidationTransport();
+        sender = new NotificationRelay(new CacheInvalidationBus(transport), senderRegistry, senderCounter,
+            notificationRepository, 20);
+        new NotificationRelay(new CacheInvalidationBus(transport), receiverRegistry, receiverCounter,
+            notificationRepository, 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testChanged_UserWithoutStreamOnlyDropsCounter() {
+        when(receiverRegistry.getPushedUpTo(USER_ID)).thenReturn(Optional.empty());
+
+        sender.changed(List.of(USER_ID));
+
+        verify(receiverCounter).invalidate(USER_ID);
+        verifyNoInteractions(notificationRepository);
+        verify(receiverRegistry, never()).unreadChanged(any(), anyLong());
+        verifyNoInteractions(senderCounter, senderRegistry);
+    }
+
+    @Test
+    void testChanged_ConnectedUserGetsUnseenNotificationsAndRecount() {
+        LocalDateTime pushedUpTo = LocalDateTime.of(2026, 10, 18, 9, 0);
+        NotificationView unseen = new NotificationView(UUID.randomUUID(), NotificationType.QUEST_REMINDER, "message",
+            pushedUpTo.plusMinutes(5), false, null, null);
+        when(receiverRegistry.getPushedUpTo(USER_ID)).thenReturn(Optional.of(pushedUpTo));
+        when(notificationRepository.findUnreadCreatedAfter(USER_ID, pushedUpTo, PageRequest.of(0, 20)))
+            .thenReturn(List.of(unseen));
+        when(receiverCounter.get(USER_ID)).thenReturn(4L);
+
+        sender.changed(List.of(USER_ID, USER_ID));
+
+        verify(receiverCounter).invalidate(USER_ID);
+        verify(receiverRegistry).pushNotifications(USER_ID, List.of(unseen));
+        verify(receiverRegistry).unreadChanged(USER_ID, 4L);
+    }
+
+    @Test
+    void testChangedAfterCommit_WaitsForCommit() {
+        when(receiverRegistry.getPushedUpTo(USER_ID)).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.initSynchronization();
+
+        sender.changedAfterCommit(USER_ID);
+        verifyNoInteractions(receiverCounter);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(receiverCounter).invalidate(USER_ID);
+    }
+}
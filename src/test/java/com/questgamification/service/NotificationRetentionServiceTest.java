@@ -0,0 +1,83 @@
+package com.questgamification.service;
+
+import com.questgamification.config.NotificationRetentionProperties;
+import com.questgamification.domain.entity.NotificationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private NotificationRetentionProperties properties;
+    private NotificationRetentionService retentionService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new NotificationRetentionProperties();
+        properties.setBatchSize(2);
+        properties.setPauseBetweenBatches(Duration.ZERO);
+        properties.getTtl().put(NotificationType.QUEST_REMINDER, Duration.ofDays(14));
+        retentionService = new NotificationRetentionService(jdbcTemplate, properties);
+    }
+
+    @Test
+    void testPurge_DisabledDoesNothing() {
+        properties.setEnabled(false);
+
+        assertEquals(0, retentionService.purge());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testPurge_CompactsInBatchesUntilShortBatch() {
+        when(jdbcTemplate.update(contains("newer.created_at > n.created_at"), eq(2))).thenReturn(2, 2, 1);
+        when(jdbcTemplate.update(contains("type = ?"), anyString(), any(LocalDateTime.class), eq(2))).thenReturn(0);
+
+        int removed = retentionService.purge();
+
+        assertEquals(5, removed);
+        verify(jdbcTemplate, times(3)).update(contains("newer.created_at > n.created_at"), eq(2));
+    }
+
+    @Test
+    void testPurge_UsesPerTypeTtl() {
+        when(jdbcTemplate.update(contains("newer.created_at > n.created_at"), eq(2))).thenReturn(0);
+        when(jdbcTemplate.update(contains("type = ?"), anyString(), any(LocalDateTime.class), eq(2))).thenReturn(0);
+        LocalDateTime before = LocalDateTime.now();
+
+        retentionService.purge();
+
+        verify(jdbcTemplate).update(contains("type = ?"), eq("QUEST_REMINDER"),
+            argThat((LocalDateTime cutoff) -> !cutoff.isBefore(before.minusDays(14)) && cutoff.isBefore(before.minusDays(13))),
+            eq(2));
+        verify(jdbcTemplate).update(contains("type = ?"), eq("QUEST_COMPLETED"),
+            argThat((LocalDateTime cutoff) -> cutoff.isBefore(before.minusDays(364))), eq(2));
+    }
+
+    @Test
+    void testPurge_ArchivesInSameStatement() {
+        properties.setArchive(true);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(0);
+
+        retentionService.purge();
+
+        verify(jdbcTemplate, atLeastOnce()).update(
+            argThat((String sql) -> sql.startsWith("WITH archived AS (INSERT INTO notifications_archive")
+                && sql.contains("DELETE FROM notifications WHERE id IN (SELECT id FROM archived)")),
+            any(Object[].class));
+    }
+}
@@ -0,0 +1,157 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.KeysetPage;
+import com.questgamification.domain.dto.NotificationDraft;
+import com.questgamification.domain.dto.NotificationView;
+import com.questgamification.domain.entity.Notification;
+import com.questgamification.domain.entity.NotificationType;
+import com.questgamification.domain.entity.Quest;
+import com.questgamification.domain.entity.User;
+import com.questgamification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private NotificationStreamRegistry notificationStreamRegistry;
+
+    @Mock
+    private NotificationRelay notificationRelay;
+
+    private NotificationService notificationService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = new NotificationService(notificationRepository, notificationDispatcher, unreadNotificationCounter,
+            notificationStreamRegistry, notificationRelay, 2);
+        testUser = new User();
+        testUser.setId(UUID.randomUUID());
+        testUser.setUsername("testuser");
+    }
+
+    @Test
+    void testCreateQuestCompletedNotification_EnqueuesDraft() {
+        Quest quest = new Quest();
+        quest.setId(UUID.randomUUID());
+        quest.setTitle("Test Quest");
+        quest.setExperienceReward(100L);
+        quest.setUser(testUser);
+
+        notificationService.createQuestCompletedNotification(quest);
+
+        ArgumentCaptor<NotificationDraft> captor = ArgumentCaptor.forClass(NotificationDraft.class);
+        verify(notificationDispatcher).enqueue(captor.capture());
+        assertEquals(testUser.getId(), captor.getValue().getUserId());
+        assertEquals(quest.getId(), captor.getValue().getQuestId());
+        assertEquals(NotificationType.QUEST_COMPLETED, captor.getValue().getType());
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void testGetNotificationFeed_FirstPageHasNextKey() {
+        List<NotificationView> rows = new ArrayList<>(List.of(view(1), view(2), view(3)));
+        when(notificationRepository.findFeedPage(eq(testUser.getId()), any(), any(), any(Pageable.class))).thenReturn(rows);
+
+        KeysetPage<NotificationView> page = notificationService.getNotificationFeed(testUser, null, null);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.hasNext());
+        assertEquals(rows.get(1).getCreatedAt().toString(), page.getNextKey());
+        assertEquals(rows.get(1).getId().toString(), page.getNextId());
+        verify(notificationRepository).findFeedPage(eq(testUser.getId()), any(), any(),
+            argThat(pageable -> pageable.getPageSize() == 3));
+    }
+
+    @Test
+    void testGetNotificationFeed_SeeksPastCursor() {
+        LocalDateTime before = LocalDateTime.of(2024, 6, 11, 9, 30);
+        UUID beforeId = UUID.randomUUID();
+        when(notificationRepository.findFeedPage(eq(testUser.getId()), eq(before), eq(beforeId), any(Pageable.class)))
+            .thenReturn(List.of(view(1)));
+
+        KeysetPage<NotificationView> page = notificationService.getNotificationFeed(testUser, before, beforeId);
+
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testGetUnreadCount_ReadsCounter() {
+        when(unreadNotificationCounter.get(testUser.getId())).thenReturn(4L);
+
+        assertEquals(4L, notificationService.getUnreadCount(testUser));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void testMarkAsRead_DecrementsOnlyUnread() {
+        Notification unread = notification(false);
+        Notification alreadyRead = notification(true);
+        when(notificationRepository.findById(unread.getId())).thenReturn(Optional.of(unread));
+        when(notificationRepository.findById(alreadyRead.getId())).thenReturn(Optional.of(alreadyRead));
+
+        notificationService.markAsRead(unread.getId(), testUser);
+        notificationService.markAsRead(alreadyRead.getId(), testUser);
+
+        verify(unreadNotificationCounter, times(1)).read(testUser.getId());
+        verify(notificationRelay, times(1)).changedAfterCommit(testUser.getId());
+    }
+
+    @Test
+    void testMarkAllAsRead_ZeroesCounter() {
+        notificationService.markAllAsRead(testUser);
+
+        verify(notificationRepository).markAllAsRead(testUser);
+        verify(unreadNotificationCounter).allRead(testUser.getId());
+        verify(notificationRelay).changedAfterCommit(testUser.getId());
+    }
+
+    @Test
+    void testSubscribe_OpensStreamWithCurrentCount() {
+        when(unreadNotificationCounter.get(testUser.getId())).thenReturn(2L);
+
+        notificationService.subscribe(testUser.getId());
+
+        verify(notificationStreamRegistry).subscribe(testUser.getId(), 2L);
+    }
+
+    private Notification notification(boolean read) {
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        notification.setUser(testUser);
+        notification.setIsRead(read);
+        return notification;
+    }
+
+    private NotificationView view(int minutesAgo) {
+        return new NotificationView(UUID.randomUUID(), NotificationType.SYSTEM, "message",
+            LocalDateTime.of(2024, 6, 11, 10, 0).minusMinutes(minutesAgo), false, null, null);
+    }
+}
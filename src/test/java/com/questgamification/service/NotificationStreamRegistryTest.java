@@ -0,0 +1,79 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.NotificationDraft;
+import com.questgamification.domain.dto.NotificationView;
+import com.questgamification.domain.entity.NotificationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationStreamRegistryTest {
+
+    private NotificationStreamRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new NotificationStreamRegistry(Duration.ofMinutes(1), 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void testSubscribe_TracksConnectionsPerUser() {
+        UUID userId = UUID.randomUUID();
+
+        SseEmitter first = registry.subscribe(userId, 3L);
+        SseEmitter second = registry.subscribe(userId, 3L);
+
+        assertNotSame(first, second);
+        assertTrue(registry.isConnected(userId));
+        assertEquals(2, registry.getConnectionCount());
+        assertFalse(registry.isConnected(UUID.randomUUID()));
+    }
+
+    @Test
+    void testPushes_ToDisconnectedUsersAreSkipped() {
+        UUID userId = UUID.randomUUID();
+
+        registry.notificationsCreated(List.of(new NotificationDraft(userId, null, NotificationType.SYSTEM, "message")));
+        registry.unreadChanged(userId, 1L);
+        registry.heartbeat();
+
+        assertFalse(registry.isConnected(userId));
+        assertEquals(0, registry.getConnectionCount());
+    }
+
+    @Test
+    void testPushedUpTo_TracksConnectedUsersOnly() {
+        UUID userId = UUID.randomUUID();
+        assertTrue(registry.getPushedUpTo(userId).isEmpty());
+
+        registry.subscribe(userId, 0L);
+        LocalDateTime subscribedAt = registry.getPushedUpTo(userId).orElseThrow();
+        NotificationView later = new NotificationView(UUID.randomUUID(), NotificationType.SYSTEM, "message",
+            subscribedAt.plusMinutes(1), false, null, null);
+        registry.pushNotifications(userId, List.of(later));
+
+        assertEquals(later.getCreatedAt(), registry.getPushedUpTo(userId).orElseThrow());
+    }
+
+    @Test
+    void testShutdown_CompletesAndForgetsStreams() {
+        registry.subscribe(UUID.randomUUID(), 0L);
+
+        registry.shutdown();
+
+        assertEquals(0, registry.getConnectionCount());
+    }
+}
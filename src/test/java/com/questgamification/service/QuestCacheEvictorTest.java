@@ -0,0 +1,60 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.QuestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestCacheEvictorTest {
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID bobQuest = UUID.randomUUID();
+
+    private Cache quests;
+    private Cache stats;
+    private QuestCacheEvictor questCacheEvictor;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        quests = cacheManager.getCache(QuestCacheEvictor.QUESTS_CACHE);
+        stats = cacheManager.getCache(QuestCacheEvictor.STATS_CACHE);
+        questCacheEvictor = new QuestCacheEvictor(cacheManager);
+
+        for (UUID userId : List.of(alice, bob)) {
+            quests.put(QuestCacheEvictor.userKey(userId), List.of());
+            quests.put(QuestCacheEvictor.userStatusKey(userId, QuestStatus.ACTIVE), List.of());
+            quests.put(QuestCacheEvictor.userStatusKey(userId, QuestStatus.EXPIRED), List.of());
+            stats.put("user_" + userId, Map.of());
+        }
+    }
+
+    @Test
+    void testUserQuestsChanged_EvictsOnlyThatUsersRegion() {
+        questCacheEvictor.userQuestsChanged(alice);
+
+        assertNull(quests.get(QuestCacheEvictor.userKey(alice)));
+        assertNull(quests.get(QuestCacheEvictor.userStatusKey(alice, QuestStatus.ACTIVE)));
+        assertNull(quests.get(QuestCacheEvictor.userStatusKey(alice, QuestStatus.EXPIRED)));
+        assertNotNull(quests.get(QuestCacheEvictor.userKey(bob)));
+        assertNotNull(quests.get(QuestCacheEvictor.userStatusKey(bob, QuestStatus.ACTIVE)));
+    }
+
+    @Test
+    void testQuestsChanged_EvictsAffectedOwnersAndTheirStats() {
+        questCacheEvictor.questsChanged(Map.of(bobQuest, bob));
+
+        assertNull(quests.get(QuestCacheEvictor.userStatusKey(bob, QuestStatus.EXPIRED)));
+        assertNull(stats.get("user_" + bob));
+        assertNotNull(quests.get(QuestCacheEvictor.userKey(alice)));
+        assertNotNull(stats.get("user_" + alice));
+    }
+}
@@ -0,0 +1,104 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.NotificationDraft;
+import com.questgamification.domain.entity.JobCheckpoint;
+import com.questgamification.repository.JobCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestExpirationServiceTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2024, 6, 11);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Mock
+    private NotificationBatchWriter notificationBatchWriter;
+
+    @Mock
+    private QuestCacheEvictor questCacheEvictor;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    private QuestExpirationService questExpirationService;
+
+    @BeforeEach
+    void setUp() {
+        questExpirationService = new QuestExpirationService(jdbcTemplate, transactionTemplate, jobCheckpointRepository,
+            notificationBatchWriter, questCacheEvictor, userStatsService, 100);
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void testExpireQuests_ResumesFromCheckpoint() {
+        UUID resumeKey = UUID.randomUUID();
+        JobCheckpoint checkpoint = new JobCheckpoint(QuestExpirationService.JOB_NAME, CUTOFF.toString());
+        checkpoint.setLastKey(resumeKey);
+        checkpoint.setProcessedCount(100L);
+        when(jobCheckpointRepository.findById(QuestExpirationService.JOB_NAME)).thenReturn(Optional.of(checkpoint));
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(), any(), any())).thenReturn(List.of());
+
+        int expired = questExpirationService.expireQuests(CUTOFF);
+
+        assertEquals(0, expired);
+        verify(jdbcTemplate).queryForList(anyString(), eq(UUID.class), eq(CUTOFF), eq(resumeKey), eq(100));
+        assertTrue(checkpoint.getCompleted());
+    }
+
+    @Test
+    void testExpireQuests_IgnoresCompletedCheckpoint() {
+        JobCheckpoint checkpoint = new JobCheckpoint(QuestExpirationService.JOB_NAME, CUTOFF.toString());
+        checkpoint.setLastKey(UUID.randomUUID());
+        checkpoint.setCompleted(true);
+        when(jobCheckpointRepository.findById(QuestExpirationService.JOB_NAME)).thenReturn(Optional.of(checkpoint));
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(), any(), any())).thenReturn(List.of());
+
+        questExpirationService.expireQuests(CUTOFF);
+
+        verify(jdbcTemplate).queryForList(anyString(), eq(UUID.class), eq(CUTOFF), eq(new UUID(0L, 0L)), eq(100));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExpireQuests_AdvancesCheckpointPerChunk() {
+        UUID upperKey = UUID.randomUUID();
+        when(jobCheckpointRepository.findById(QuestExpirationService.JOB_NAME)).thenReturn(Optional.empty());
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(), any(), any()))
+            .thenReturn(List.of(upperKey))
+            .thenReturn(List.of());
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any(), any()))
+            .thenReturn(new ArrayList<>(List.of(mock(NotificationDraft.class))));
+
+        int expired = questExpirationService.expireQuests(CUTOFF);
+
+        assertEquals(1, expired);
+        verify(notificationBatchWriter).write(anyList());
+        verify(userStatsService).questsExpired(anyMap());
+        verify(questCacheEvictor).questsChanged(anyMap());
+        verify(jdbcTemplate).queryForList(anyString(), eq(UUID.class), eq(CUTOFF), eq(upperKey), eq(100));
+    }
+}
@@ -0,0 +1,133 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.JobCheckpoint;
+import com.questgamification.repository.JobCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestProgressReconcilerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    private QuestProgressReconciler questProgressReconciler;
+
+    @BeforeEach
+    void setUp() {
+        questProgressReconciler = new QuestProgressReconciler(jdbcTemplate, transactionTemplate, jobCheckpointRepository, 2,
+            Duration.ofMillis(100));
+        lenient().when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void testReconcile_WalksKeyRangesUntilExhausted() {
+        UUID firstUpper = new UUID(0L, 10L);
+        UUID secondUpper = new UUID(0L, 20L);
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(), any()))
+            .thenReturn(List.of(firstUpper))
+            .thenReturn(List.of(secondUpper))
+            .thenReturn(List.of());
+        doReturn(List.of()).when(jdbcTemplate)
+            .queryForList(eq(QuestProgressReconciler.LOCK_RANGE_SQL), eq(UUID.class), any(), any());
+        lenient().when(jdbcTemplate.update(anyString(), any(UUID.class), any(UUID.class))).thenReturn(1, 0);
+
+        int corrected = questProgressReconciler.reconcile();
+
+        assertEquals(1, corrected);
+        verify(jdbcTemplate).update(anyString(), eq(new UUID(0L, 0L)), eq(firstUpper));
+        verify(jdbcTemplate).update(anyString(), eq(firstUpper), eq(secondUpper));
+    }
+
+    @Test
+    void testReconcile_LocksRangeBeforeRecounting() {
+        UUID upper = new UUID(0L, 10L);
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(), any()))
+            .thenReturn(List.of(upper))
+            .thenReturn(List.of());
+        doReturn(List.of(upper)).when(jdbcTemplate)
+            .queryForList(eq(QuestProgressReconciler.LOCK_RANGE_SQL), eq(UUID.class), any(), any());
+        lenient().when(jdbcTemplate.update(anyString(), any(UUID.class), any(UUID.class))).thenReturn(0);
+
+        questProgressReconciler.reconcile();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).queryForList(QuestProgressReconciler.LOCK_RANGE_SQL, UUID.class, new UUID(0L, 0L), upper);
+        inOrder.verify(jdbcTemplate).update(anyString(), eq(new UUID(0L, 0L)), eq(upper));
+    }
+
+    @Test
+    void testBackfillCheckInWeeks_RepeatsUntilShortBatch() {
+        when(jdbcTemplate.update(anyString(), eq(2))).thenReturn(2, 1);
+
+        assertEquals(3, questProgressReconciler.backfillCheckInWeeks());
+        verify(jdbcTemplate, times(2)).update(anyString(), eq(2));
+    }
+
+    @Test
+    void testReconcile_EmptyTable() {
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(), any())).thenReturn(List.of());
+
+        assertEquals(0, questProgressReconciler.reconcile());
+        verify(jdbcTemplate, never()).update(anyString(), any(UUID.class), any(UUID.class));
+    }
+
+    @Test
+    void testBackfillOnce_ReconcilesAndRecordsCheckpoint() {
+        when(jobCheckpointRepository.findById(QuestProgressReconciler.BACKFILL_JOB)).thenReturn(Optional.empty());
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(), any())).thenReturn(List.of());
+
+        questProgressReconciler.backfillOnce();
+
+        ArgumentCaptor<JobCheckpoint> saved = ArgumentCaptor.forClass(JobCheckpoint.class);
+        verify(jobCheckpointRepository).save(saved.capture());
+        assertTrue(saved.getValue().getCompleted());
+        assertTrue(questProgressReconciler.isBackfilled());
+        verify(jdbcTemplate).update(anyString(), eq(2));
+    }
+
+    @Test
+    void testBackfillOnce_SkipsWhenCheckpointIsComplete() {
+        JobCheckpoint done = new JobCheckpoint(QuestProgressReconciler.BACKFILL_JOB, "v1");
+        done.setCompleted(true);
+        when(jobCheckpointRepository.findById(QuestProgressReconciler.BACKFILL_JOB)).thenReturn(Optional.of(done));
+
+        questProgressReconciler.backfillOnce();
+        questProgressReconciler.awaitBackfill();
+
+        verifyNoInteractions(jdbcTemplate);
+        verify(jobCheckpointRepository, never()).save(any());
+        verify(jobCheckpointRepository, times(1)).findById(QuestProgressReconciler.BACKFILL_JOB);
+    }
+
+    @Test
+    void testAwaitBackfill_GivesUpWhileAnotherNodeIsStillBackfilling() {
+        when(jobCheckpointRepository.findById(QuestProgressReconciler.BACKFILL_JOB)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, questProgressReconciler::awaitBackfill);
+    }
+}
@@ -0,0 +1,110 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.NotificationDraft;
+import com.questgamification.domain.dto.QuestReminderRow;
+import com.questgamification.domain.dto.UserIdRange;
+import com.questgamification.domain.entity.NotificationType;
+import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.domain.entity.QuestType;
+import com.questgamification.repository.QuestProgressRepository;
+import com.questgamification.repository.QuestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestReminderServiceTest {
+
+    // 2024-06-11 is a Tuesday
+    private static final LocalDate TUESDAY = LocalDate.of(2024, 6, 11);
+
+    @Mock
+    private QuestRepository questRepository;
+
+    @Mock
+    private QuestProgressRepository questProgressRepository;
+
+    @Mock
+    private NotificationBatchWriter notificationBatchWriter;
+
+    private QuestReminderService questReminderService;
+
+    @BeforeEach
+    void setUp() {
+        questReminderService = new QuestReminderService(questRepository, questProgressRepository, notificationBatchWriter, 2);
+        lenient().when(notificationBatchWriter.write(anyList()))
+            .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+    }
+
+    @Test
+    void testMorningReminders_DailyQuestEndingTomorrow() {
+        QuestReminderRow row = row(QuestType.DAILY, TUESDAY.plusDays(1));
+        when(questRepository.findReminderPage(eq(QuestStatus.ACTIVE), eq(EnumSet.of(QuestType.DAILY)),
+                any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(row));
+        when(questRepository.findReminderPage(eq(QuestStatus.ACTIVE), eq(EnumSet.of(QuestType.WEEKLY)),
+                any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of());
+
+        int sent = questReminderService.sendMorningReminders(TUESDAY, UserIdRange.all());
+
+        assertEquals(2, sent);
+        List<NotificationDraft> drafts = capturedDrafts();
+        assertEquals(NotificationType.QUEST_REMINDER, drafts.get(0).getType());
+        assertEquals(NotificationType.QUEST_EXPIRING_SOON, drafts.get(1).getType());
+        assertEquals(row.getUserId(), drafts.get(0).getUserId());
+    }
+
+    @Test
+    void testMorningReminders_PagesUntilShortPage() {
+        when(questRepository.findReminderPage(eq(QuestStatus.ACTIVE), eq(EnumSet.of(QuestType.DAILY)),
+                any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(row(QuestType.DAILY, TUESDAY.plusDays(10)), row(QuestType.DAILY, TUESDAY.plusDays(10))))
+            .thenReturn(List.of(row(QuestType.DAILY, TUESDAY.plusDays(10))));
+        when(questRepository.findReminderPage(eq(QuestStatus.ACTIVE), eq(EnumSet.of(QuestType.WEEKLY)),
+                any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of());
+
+        int sent = questReminderService.sendMorningReminders(TUESDAY, UserIdRange.all());
+
+        assertEquals(3, sent);
+        verify(notificationBatchWriter, times(2)).write(anyList());
+    }
+
+    @Test
+    void testWeeklyProgressSummary_UsesGroupedCounts() {
+        QuestReminderRow row = row(QuestType.WEEKLY, TUESDAY.plusDays(20));
+        when(questRepository.findReminderPage(eq(QuestStatus.ACTIVE), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of(row));
+        List<Object[]> counts = new ArrayList<>();
+        counts.add(new Object[]{row.getQuestId(), 3});
+        when(questProgressRepository.findCheckInCounts(List.of(row.getQuestId()))).thenReturn(counts);
+
+        questReminderService.sendWeeklyProgressSummary(TUESDAY, UserIdRange.all());
+
+        NotificationDraft draft = capturedDrafts().get(0);
+        assertEquals(NotificationType.SYSTEM, draft.getType());
+        assertTrue(draft.getMessage().contains("3/4 check-ins completed (75%)"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NotificationDraft> capturedDrafts() {
+        ArgumentCaptor<List<NotificationDraft>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationBatchWriter, atLeastOnce()).write(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    private QuestReminderRow row(QuestType type, LocalDate endDate) {
+        return new QuestReminderRow(UUID.randomUUID(), UUID.randomUUID(), "Test Quest", type, endDate, 4);
+    }
+}
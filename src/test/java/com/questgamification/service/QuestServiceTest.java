@@ -2,7 +2,10 @@ package com.questgamification.service;
 
 import com.questgamification.domain.dto.QuestCreateDto;
 import com.questgamification.domain.dto.QuestProgressUpdateDto;
+import com.questgamification.domain.dto.QuestView;
+import com.questgamification.domain.dto.StreakUpdate;
 import com.questgamification.domain.entity.*;
+import com.questgamification.repository.CheckInRepository;
 import com.questgamification.repository.QuestProgressRepository;
 import com.questgamification.repository.QuestRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +21,8 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,11 +38,26 @@ class QuestServiceTest {
     private UserService userService;
 
     @Mock
-    private QuestAnalyticsClient questAnalyticsClient;
+    private AnalyticsOutboxService analyticsOutboxService;
 
     @Mock
     private AchievementService achievementService;
 
+    @Mock
+    private CheckInRepository checkInRepository;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private StreakService streakService;
+
+    @Mock
+    private QuestCacheEvictor questCacheEvictor;
+
+    @Mock
+    private QuestProgressReconciler questProgressReconciler;
+
     @InjectMocks
     private QuestService questService;
 
@@ -122,21 +142,22 @@ class QuestServiceTest {
 
     @Test
     void testFindByUser() {
-        List<Quest> quests = Arrays.asList(testQuest);
-        when(questRepository.findByUser(testUser)).thenReturn(quests);
+        when(questRepository.findViewsByUserId(testUser.getId())).thenReturn(List.of(QuestView.from(testQuest)));
 
-        List<Quest> result = questService.findByUser(testUser);
+        List<QuestView> result = questService.findByUser(testUser.getId());
 
         assertEquals(1, result.size());
         assertEquals(testQuest.getId(), result.get(0).getId());
+        assertEquals(testUser.getId(), result.get(0).getUserId());
+        assertThrows(UnsupportedOperationException.class, () -> result.add(QuestView.from(testQuest)));
     }
 
     @Test
     void testFindByUserAndStatus() {
-        List<Quest> quests = Arrays.asList(testQuest);
-        when(questRepository.findByUserAndStatus(testUser, QuestStatus.ACTIVE)).thenReturn(quests);
+        when(questRepository.findViewsByUserIdAndStatus(testUser.getId(), QuestStatus.ACTIVE))
+            .thenReturn(List.of(QuestView.from(testQuest)));
 
-        List<Quest> result = questService.findByUserAndStatus(testUser, QuestStatus.ACTIVE);
+        List<QuestView> result = questService.findByUserAndStatus(testUser.getId(), QuestStatus.ACTIVE);
 
         assertEquals(1, result.size());
         assertEquals(QuestStatus.ACTIVE, result.get(0).getStatus());
@@ -207,18 +228,157 @@ class QuestServiceTest {
         });
     }
 
+    @Test
+    void testCheckIn_DailySuccess() {
+        testQuest.setCheckInGoal(4);
+        when(questRepository.findById(testQuest.getId())).thenReturn(Optional.of(testQuest));
+        when(checkInRepository.insertIfAbsent(any(), eq(testQuest.getId()), eq(testUser.getId()), eq(LocalDate.now()), any(), isNull()))
+            .thenReturn(1);
+        when(questProgressRepository.recordCheckIn(eq(testQuest.getId()), eq(testUser.getId()), eq(LocalDate.now()), eq(4), any()))
+            .thenReturn(1);
+        when(questProgressRepository.findCheckInCount(testQuest.getId(), testUser.getId())).thenReturn(Optional.of(1));
+        when(streakService.recordCheckIn(testUser.getId(), LocalDate.now(), QuestType.DAILY)).thenReturn(new StreakUpdate(2, 3, 3));
+
+        CheckIn checkIn = questService.checkIn(testQuest.getId(), testUser);
+
+        assertNotNull(checkIn.getId());
+        verify(achievementService).onMetricChanged(testUser, AchievementType.STREAK_DAYS, 2, 3);
+        verify(userService, times(1)).addExperience(eq(testUser), eq(25L), eq(XpSource.QUEST_CHECK_IN), any(UUID.class));
+        verify(userService, never()).updateUser(any());
+        verify(questProgressRepository, never()).save(any());
+        assertEquals(QuestStatus.ACTIVE, testQuest.getStatus());
+    }
+
+    @Test
+    void testCheckIn_ExperienceFailureFailsTheCheckIn() {
+        testQuest.setCheckInGoal(4);
+        when(questRepository.findById(testQuest.getId())).thenReturn(Optional.of(testQuest));
+        when(checkInRepository.insertIfAbsent(any(), any(), any(), any(), any(), any())).thenReturn(1);
+        when(streakService.recordCheckIn(testUser.getId(), LocalDate.now(), QuestType.DAILY)).thenReturn(new StreakUpdate(2, 3, 3));
+        doThrow(new IllegalStateException("save failed"))
+            .when(userService).addExperience(eq(testUser), anyLong(), eq(XpSource.QUEST_CHECK_IN), any(UUID.class));
+
+        // Propagating lets the transaction roll back the check-in row and the advanced streak with it
+        assertThrows(IllegalStateException.class, () -> questService.checkIn(testQuest.getId(), testUser));
+
+        verify(questProgressRepository, never()).recordCheckIn(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testCheckIn_DailyDuplicateRejectedByConstraint() {
+        testQuest.setCheckInGoal(4);
+        when(questRepository.findById(testQuest.getId())).thenReturn(Optional.of(testQuest));
+        when(checkInRepository.insertIfAbsent(any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        assertThrows(IllegalArgumentException.class, () -> questService.checkIn(testQuest.getId(), testUser));
+
+        verify(userService, never()).addExperience(any(), anyLong(), any(), any());
+        verify(streakService, never()).recordCheckIn(any(), any(), any());
+        verify(questProgressRepository, never()).recordCheckIn(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testCheckIn_WeeklyAlreadyCheckedInThisWeek() {
+        testQuest.setQuestType(QuestType.WEEKLY);
+        testQuest.setCheckInGoal(4);
+        when(questRepository.findById(testQuest.getId())).thenReturn(Optional.of(testQuest));
+        LocalDate weekStart = LocalDate.now().with(java.time.DayOfWeek.MONDAY);
+        when(checkInRepository.existsInWeek(testQuest.getId(), testUser.getId(), CheckIn.isoWeekKey(LocalDate.now()),
+                weekStart, weekStart.plusDays(6)))
+            .thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () -> questService.checkIn(testQuest.getId(), testUser));
+
+        verify(checkInRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testCheckIn_WeeklyConcurrentDuplicateRejectedByWeeklyKey() {
+        testQuest.setQuestType(QuestType.WEEKLY);
+        testQuest.setCheckInGoal(4);
+        when(questRepository.findById(testQuest.getId())).thenReturn(Optional.of(testQuest));
+        int week = CheckIn.isoWeekKey(LocalDate.now());
+        // The probe saw nothing, but a concurrent submit took the weekly key first
+        when(checkInRepository.insertIfAbsent(any(), eq(testQuest.getId()), eq(testUser.getId()), eq(LocalDate.now()),
+                eq(week), eq(week)))
+            .thenReturn(0);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> questService.checkIn(testQuest.getId(), testUser));
+
+        assertEquals("You have already checked in this week for this weekly quest", e.getMessage());
+        verify(streakService, never()).recordCheckIn(any(), any(), any());
+    }
+
+    @Test
+    void testIsoWeekKey_IsLocaleIndependent() {
+        // 2024-12-30 (Monday) belongs to ISO week 1 of 2025; 2021-01-03 (Sunday) to week 53 of 2020
+        assertEquals(202501, CheckIn.isoWeekKey(LocalDate.of(2024, 12, 30)));
+        assertEquals(202053, CheckIn.isoWeekKey(LocalDate.of(2021, 1, 3)));
+    }
+
+    @Test
+    void testCanCheckIn_WeeklyUsesLastCheckInDate() {
+        testQuest.setQuestType(QuestType.WEEKLY);
+        // 2024-06-12 is a Wednesday; the ISO week started on Monday 2024-06-10
+        LocalDate wednesday = LocalDate.of(2024, 6, 12);
+        when(questProgressRepository.findLastCheckInDate(testQuest.getId(), testUser.getId()))
+            .thenReturn(Optional.of(LocalDate.of(2024, 6, 10)))
+            .thenReturn(Optional.of(LocalDate.of(2024, 6, 9)));
+
+        assertFalse(questService.canCheckIn(testQuest, testUser, wednesday));
+        assertTrue(questService.canCheckIn(testQuest, testUser, wednesday));
+    }
+
+    @Test
+    void testGetQuestsReadyForCheckIn_SingleQueryForAllQuests() {
+        Quest checkedInToday = new Quest();
+        checkedInToday.setId(UUID.randomUUID());
+        checkedInToday.setQuestType(QuestType.DAILY);
+        checkedInToday.setStatus(QuestStatus.ACTIVE);
+        checkedInToday.setUser(testUser);
+        Quest weeklyOpen = new Quest();
+        weeklyOpen.setId(UUID.randomUUID());
+        weeklyOpen.setQuestType(QuestType.WEEKLY);
+        weeklyOpen.setStatus(QuestStatus.ACTIVE);
+        weeklyOpen.setUser(testUser);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{checkedInToday.getId(), LocalDate.now()});
+        rows.add(new Object[]{weeklyOpen.getId(), LocalDate.now().minusWeeks(1)});
+        when(questProgressRepository.findLastCheckInDates(eq(testUser.getId()), any())).thenReturn(rows);
+
+        List<QuestView> ready = questService.getQuestsReadyForCheckIn(testUser.getId(),
+            List.of(QuestView.from(testQuest), QuestView.from(checkedInToday), QuestView.from(weeklyOpen)));
+
+        assertEquals(List.of(testQuest.getId(), weeklyOpen.getId()), ready.stream().map(QuestView::getId).toList());
+        verify(questProgressRepository, times(1)).findLastCheckInDates(any(), any());
+    }
+
     @Test
     void testCompleteQuest() {
-        when(userService.findById(testUser.getId())).thenReturn(Optional.of(testUser));
         when(questRepository.save(any(Quest.class))).thenReturn(testQuest);
-        when(userService.updateUser(testUser)).thenReturn(testUser);
-        doNothing().when(achievementService).checkAndAwardAchievements(testUser);
-        doNothing().when(questAnalyticsClient).recordQuestCompletion(any(), any(), any());
+        when(userStatsService.completedQuests(testUser.getId())).thenReturn(3);
+        doNothing().when(analyticsOutboxService).recordQuestCompletion(any(), any(), any());
 
         questService.completeQuest(testQuest, testUser);
 
         assertEquals(QuestStatus.COMPLETED, testQuest.getStatus());
-        verify(questAnalyticsClient, times(1)).recordQuestCompletion(any(), any(), any());
+        verify(achievementService).onMetricChanged(testUser, AchievementType.QUESTS_COMPLETED, 2, 3);
+        verify(userService, never()).updateUser(any());
+        verify(analyticsOutboxService, times(1)).recordQuestCompletion(any(), any(), any());
+    }
+
+    @Test
+    void testCompleteQuest_PersistsNewlyAwardedAchievements() {
+        Achievement achievement = new Achievement();
+        when(questRepository.save(any(Quest.class))).thenReturn(testQuest);
+        when(userStatsService.completedQuests(testUser.getId())).thenReturn(1);
+        when(achievementService.onMetricChanged(testUser, AchievementType.QUESTS_COMPLETED, 0, 1))
+            .thenReturn(List.of(achievement));
+
+        questService.completeQuest(testQuest, testUser);
+
+        verify(userService).updateUser(testUser);
     }
 
     @Test
@@ -238,6 +398,7 @@ class QuestServiceTest {
         questService.deleteQuest(testQuest.getId(), testUser);
 
         verify(questRepository, times(1)).delete(testQuest);
+        verify(questCacheEvictor).userQuestsChanged(testUser.getId());
     }
 
     @Test
@@ -262,23 +423,22 @@ class QuestServiceTest {
     }
 
     @Test
-    void testFindExpiredQuests() {
-        List<Quest> expiredQuests = Arrays.asList(testQuest);
-        when(questRepository.findByStatusAndEndDateBefore(QuestStatus.ACTIVE, LocalDate.now())).thenReturn(expiredQuests);
+    void testDeleteQuestAsAdmin_UpdatesOwnersStatsAndCache() {
+        testQuest.setStatus(QuestStatus.ACTIVE);
+        when(questRepository.findById(testQuest.getId())).thenReturn(Optional.of(testQuest));
 
-        List<Quest> result = questService.findExpiredQuests();
+        questService.deleteQuestAsAdmin(testQuest.getId());
 
-        assertEquals(1, result.size());
+        verify(questRepository).delete(testQuest);
+        verify(userStatsService).questDeleted(testUser.getId(), QuestStatus.ACTIVE);
+        verify(questCacheEvictor).userQuestsChanged(testUser.getId());
     }
 
     @Test
-    void testExpireQuests() {
-        List<Quest> expiredQuests = Arrays.asList(testQuest);
-        when(questRepository.saveAll(expiredQuests)).thenReturn(expiredQuests);
-
-        questService.expireQuests(expiredQuests);
+    void testDeleteQuestAsAdmin_NotFound() {
+        when(questRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
 
-        assertEquals(QuestStatus.EXPIRED, testQuest.getStatus());
-        verify(questRepository, times(1)).saveAll(expiredQuests);
+        assertThrows(IllegalArgumentException.class, () -> questService.deleteQuestAsAdmin(UUID.randomUUID()));
+        verify(questRepository, never()).delete(any(Quest.class));
     }
-}
\ No newline at end of file
+}
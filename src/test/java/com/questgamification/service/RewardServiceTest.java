@@ -22,6 +22,9 @@ class RewardServiceTest {
     @Mock
     private RewardRepository rewardRepository;
 
+    @Mock
+    private UserStatsService userStatsService;
+
     @InjectMocks
     private RewardService rewardService;
 
@@ -1,14 +1,16 @@
 package com.questgamification.service;
 
+import com.questgamification.config.CachePolicyProperties;
+import com.questgamification.domain.dto.UserView;
 import com.questgamification.domain.entity.*;
-import com.questgamification.repository.QuestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,20 +20,26 @@ import static org.mockito.Mockito.*;
 class StatsServiceTest {
 
     @Mock
-    private QuestRepository questRepository;
+    private UserStatsService userStatsService;
 
     @Mock
     private QuestAnalyticsClient questAnalyticsClient;
 
-    @InjectMocks
     private StatsService statsService;
 
     private User testUser;
-    private Quest activeQuest;
-    private Quest completedQuest;
+    private UserStats projection;
 
     @BeforeEach
     void setUp() {
+        CachePolicyProperties.Spec analytics = new CachePolicyProperties.Spec();
+        analytics.setMaximumSize(100L);
+        analytics.setRefreshAfterWrite(Duration.ofMinutes(1));
+        CachePolicyProperties cachePolicies = new CachePolicyProperties();
+        cachePolicies.getSpecs().put(StatsService.ANALYTICS_CACHE, analytics);
+        statsService = new StatsService(userStatsService, questAnalyticsClient, cachePolicies,
+            new SimpleMeterRegistry(), Duration.ofSeconds(5), 1, 100, 2, Duration.ofMinutes(1));
+
         testUser = new User();
         testUser.setId(UUID.randomUUID());
         testUser.setUsername("testuser");
@@ -40,25 +48,25 @@ class StatsServiceTest {
         testUser.setAchievements(new HashSet<>());
         testUser.setClaimedRewards(new HashSet<>());
 
-        activeQuest = new Quest();
-        activeQuest.setStatus(QuestStatus.ACTIVE);
-
-        completedQuest = new Quest();
-        completedQuest.setStatus(QuestStatus.COMPLETED);
+        projection = new UserStats();
+        projection.setUserId(testUser.getId());
+        projection.setTotalQuests(2);
+        projection.setActiveQuests(1);
+        projection.setCompletedQuests(1);
     }
 
     @Test
     void testGetUserStats() {
-        List<Quest> quests = Arrays.asList(activeQuest, completedQuest);
-        when(questRepository.findByUser(testUser)).thenReturn(quests);
+        when(userStatsService.getOrBuild(testUser.getId())).thenReturn(projection);
 
-        Map<String, Object> stats = statsService.getUserStats(testUser);
+        Map<String, Object> stats = statsService.getUserStats(UserView.from(testUser));
 
         assertEquals(5, stats.get("level"));
         assertEquals(1000L, stats.get("experiencePoints"));
         assertEquals(2, stats.get("totalQuests"));
         assertEquals(1L, stats.get("completedQuests"));
         assertEquals(1L, stats.get("activeQuests"));
+        assertEquals(0L, stats.get("expiredQuests"));
         assertEquals(0, stats.get("achievementsCount"));
         assertEquals(0, stats.get("rewardsClaimed"));
     }
@@ -76,4 +84,40 @@ class StatsServiceTest {
         assertEquals(1000L, result.get("totalExperienceEarned"));
         assertEquals(5, result.get("totalQuestsCompleted"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAnalyticsData_ServesRepeatReadsFromCache() {
+        when(questAnalyticsClient.getAnalyticsData(testUser.getId())).thenReturn(Map.of("totalQuestsCompleted", 5));
+
+        statsService.getAnalyticsData(testUser.getId());
+        Map<String, Object> result = statsService.getAnalyticsData(testUser.getId());
+
+        assertEquals(5, result.get("totalQuestsCompleted"));
+        verify(questAnalyticsClient, times(1)).getAnalyticsData(testUser.getId());
+    }
+
+    @Test
+    void testGetAnalyticsData_FallsBackWithoutCachingFailures() {
+        when(questAnalyticsClient.getAnalyticsData(testUser.getId()))
+            .thenThrow(new RuntimeException("timeout"))
+            .thenReturn(Map.of("totalQuestsCompleted", 5));
+
+        Map<String, Object> fallback = statsService.getAnalyticsData(testUser.getId());
+        Map<String, Object> recovered = statsService.getAnalyticsData(testUser.getId());
+
+        assertEquals(0, fallback.get("totalQuestsCompleted"));
+        assertEquals(5, recovered.get("totalQuestsCompleted"));
+    }
+
+    @Test
+    void testGetAnalyticsData_SkipsRemoteCallWhileCircuitIsOpen() {
+        when(questAnalyticsClient.getAnalyticsData(any())).thenThrow(new RuntimeException("connection refused"));
+
+        for (int i = 0; i < 5; i++) {
+            statsService.getAnalyticsData(UUID.randomUUID());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, statsService.getAnalyticsCircuitState());
+        verify(questAnalyticsClient, times(2)).getAnalyticsData(any());
+    }
+}
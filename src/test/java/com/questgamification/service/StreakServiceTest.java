@@ -0,0 +1,175 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.dto.StreakUpdate;
+import com.questgamification.domain.entity.CheckIn;
+import com.questgamification.domain.entity.QuestType;
+import com.questgamification.domain.entity.UserStreak;
+import com.questgamification.repository.UserStreakRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreakServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 11);
+
+    @Mock
+    private UserStreakRepository userStreakRepository;
+
+    @InjectMocks
+    private StreakService streakService;
+
+    @Test
+    void testRecordCheckIn_CreatesRowOnFirstActivity() {
+        UserStreak created = new UserStreak(USER_ID);
+        when(userStreakRepository.findForUpdate(USER_ID)).thenReturn(Optional.empty()).thenReturn(Optional.of(created));
+
+        StreakUpdate update = streakService.recordCheckIn(USER_ID, TODAY, QuestType.DAILY);
+
+        verify(userStreakRepository).insertIfAbsent(USER_ID);
+        assertEquals(0, update.getPreviousLongest());
+        assertEquals(1, update.getCurrentStreak());
+        assertEquals(1, update.getLongestStreak());
+    }
+
+    @Test
+    void testRecordCheckIn_ConsecutiveDayExtendsStreak() {
+        when(userStreakRepository.findForUpdate(USER_ID)).thenReturn(Optional.of(streak(4, 4, TODAY.minusDays(1))));
+
+        StreakUpdate update = streakService.recordCheckIn(USER_ID, TODAY, QuestType.DAILY);
+
+        assertEquals(4, update.getPreviousLongest());
+        assertEquals(5, update.getCurrentStreak());
+        assertEquals(5, update.getLongestStreak());
+    }
+
+    @Test
+    void testRecordCheckIn_SameDayDoesNotDoubleCount() {
+        when(userStreakRepository.findForUpdate(USER_ID)).thenReturn(Optional.of(streak(3, 6, TODAY)));
+
+        StreakUpdate update = streakService.recordCheckIn(USER_ID, TODAY, QuestType.DAILY);
+
+        assertEquals(3, update.getCurrentStreak());
+        assertEquals(6, update.getLongestStreak());
+        verify(userStreakRepository, never()).insertIfAbsent(any());
+    }
+
+    @Test
+    void testRecordCheckIn_GapRestartsButKeepsLongest() {
+        when(userStreakRepository.findForUpdate(USER_ID)).thenReturn(Optional.of(streak(6, 6, TODAY.minusDays(2))));
+
+        StreakUpdate update = streakService.recordCheckIn(USER_ID, TODAY, QuestType.DAILY);
+
+        assertEquals(1, update.getCurrentStreak());
+        assertEquals(6, update.getLongestStreak());
+        assertEquals(6, update.getPreviousLongest());
+    }
+
+    @Test
+    void testRecordCheckIn_WeeklyOnlyStreakGrowsAcrossConsecutiveWeeks() {
+        UserStreak streak = new UserStreak(USER_ID);
+        when(userStreakRepository.findForUpdate(USER_ID)).thenReturn(Optional.of(streak));
+
+        // 2024-06-11 is a Tuesday; one weekly check-in per ISO week on varying weekdays
+        streakService.recordCheckIn(USER_ID, TODAY, QuestType.WEEKLY);
+        streakService.recordCheckIn(USER_ID, TODAY.plusDays(6), QuestType.WEEKLY);
+        StreakUpdate update = streakService.recordCheckIn(USER_ID, TODAY.plusDays(14), QuestType.WEEKLY);
+
+        assertEquals(3, update.getCurrentStreak());
+        assertEquals(3, update.getLongestStreak());
+        assertEquals(3, streak.currentStreakAsOf(TODAY.plusDays(20)));
+    }
+
+    @Test
+    void testRecordCheckIn_WeeklyOnlySkippedWeekRestarts() {
+        UserStreak streak = weeklyStreak(4, TODAY.minusWeeks(2));
+        when(userStreakRepository.findForUpdate(USER_ID)).thenReturn(Optional.of(streak));
+
+        StreakUpdate update = streakService.recordCheckIn(USER_ID, TODAY, QuestType.WEEKLY);
+
+        assertEquals(1, update.getCurrentStreak());
+        assertEquals(4, update.getLongestStreak());
+    }
+
+    @Test
+    void testRecordCheckIn_WeeklyOnlyRunCarriesDaysBetweenWeeklyCheckIns() {
+        UserStreak streak = weeklyStreak(5, TODAY.minusDays(4));
+        when(userStreakRepository.findForUpdate(USER_ID)).thenReturn(Optional.of(streak));
+
+        StreakUpdate update = streakService.recordCheckIn(USER_ID, TODAY, QuestType.DAILY);
+
+        assertEquals(6, update.getCurrentStreak());
+        assertEquals(0, streak.currentStreakAsOf(TODAY.plusDays(2)));
+    }
+
+    @Test
+    void testRecordCheckIn_WeeklyCheckInDoesNotExcuseMissedDailyDays() {
+        UserStreak streak = new UserStreak(USER_ID);
+        when(userStreakRepository.findForUpdate(USER_ID)).thenReturn(Optional.of(streak));
+
+        // Daily run Mon-Tue, then only a weekly check-in on Thursday: Wednesday was missed
+        LocalDate monday = LocalDate.of(2024, 6, 10);
+        streakService.recordCheckIn(USER_ID, monday, QuestType.DAILY);
+        streakService.recordCheckIn(USER_ID, monday.plusDays(1), QuestType.DAILY);
+        StreakUpdate weekly = streakService.recordCheckIn(USER_ID, monday.plusDays(3), QuestType.WEEKLY);
+        assertEquals(1, weekly.getCurrentStreak());
+        assertEquals(2, weekly.getLongestStreak());
+
+        // Back to daily the next day, then a ten-day gap that the earlier weekly check-in must not cover
+        assertEquals(2, streakService.recordCheckIn(USER_ID, monday.plusDays(4), QuestType.DAILY).getCurrentStreak());
+        assertEquals(0, streak.currentStreakAsOf(monday.plusDays(7)));
+        assertEquals(1, streakService.recordCheckIn(USER_ID, monday.plusDays(14), QuestType.DAILY).getCurrentStreak());
+    }
+
+    @Test
+    void testRecordCheckIn_SameDayDailyEndsWeeklyOnlyRun() {
+        UserStreak streak = weeklyStreak(2, TODAY);
+        when(userStreakRepository.findForUpdate(USER_ID)).thenReturn(Optional.of(streak));
+
+        streakService.recordCheckIn(USER_ID, TODAY, QuestType.DAILY);
+
+        assertEquals(0, streak.currentStreakAsOf(TODAY.plusDays(2)));
+    }
+
+    @Test
+    void testRecordCheckIn_MixedSameDayWeeklyDoesNotDoubleCount() {
+        when(userStreakRepository.findForUpdate(USER_ID)).thenReturn(Optional.of(streak(3, 3, TODAY)));
+
+        StreakUpdate update = streakService.recordCheckIn(USER_ID, TODAY, QuestType.WEEKLY);
+
+        assertEquals(3, update.getCurrentStreak());
+    }
+
+    @Test
+    void testGetCurrentStreak_BrokenStreakReadsAsZero() {
+        when(userStreakRepository.findById(USER_ID)).thenReturn(Optional.of(streak(5, 5, TODAY.minusDays(2))));
+
+        assertEquals(0, streakService.getCurrentStreak(USER_ID, TODAY));
+    }
+
+    private UserStreak streak(int current, int longest, LocalDate lastActivity) {
+        UserStreak streak = new UserStreak(USER_ID);
+        streak.setCurrentStreak(current);
+        streak.setLongestStreak(longest);
+        streak.setLastActivityDate(lastActivity);
+        return streak;
+    }
+
+    private UserStreak weeklyStreak(int current, LocalDate lastWeeklyCheckIn) {
+        UserStreak streak = streak(current, current, lastWeeklyCheckIn);
+        streak.setLastWeeklyActivityWeek(CheckIn.isoWeekKey(lastWeeklyCheckIn));
+        streak.setWeeklyOnly(true);
+        return streak;
+    }
+}
@@ -0,0 +1,92 @@
+package com.questgamification.service;
+
+import com.questgamification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadNotificationCounterTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationStreamRegistry notificationStreamRegistry;
+
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new UnreadNotificationCounter(notificationRepository, notificationStreamRegistry, 100, Duration.ofHours(1));
+    }
+
+    @Test
+    void testGet_LoadsOnceThenServesFromMemory() {
+        when(notificationRepository.countUnreadByUserId(USER_ID)).thenReturn(3L);
+
+        assertEquals(3L, counter.get(USER_ID));
+        assertEquals(3L, counter.get(USER_ID));
+
+        verify(notificationRepository, times(1)).countUnreadByUserId(USER_ID);
+    }
+
+    @Test
+    void testAddedAndRead_AdjustLoadedCounter() {
+        when(notificationRepository.countUnreadByUserId(USER_ID)).thenReturn(1L);
+        counter.get(USER_ID);
+
+        counter.added(Map.of(USER_ID, 2));
+        counter.read(USER_ID);
+
+        assertEquals(2L, counter.get(USER_ID));
+        verify(notificationStreamRegistry).unreadChanged(USER_ID, 3L);
+        verify(notificationStreamRegistry).unreadChanged(USER_ID, 2L);
+    }
+
+    @Test
+    void testAdded_IgnoresUsersNotInMemory() {
+        counter.added(Map.of(USER_ID, 5));
+        when(notificationRepository.countUnreadByUserId(USER_ID)).thenReturn(5L);
+
+        assertEquals(5L, counter.get(USER_ID));
+    }
+
+    @Test
+    void testAllRead_ZeroesWithoutQuery() {
+        counter.allRead(USER_ID);
+
+        assertEquals(0L, counter.get(USER_ID));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void testReconcile_ResetsDriftedCounters() {
+        UUID otherUser = UUID.randomUUID();
+        counter.allRead(USER_ID);
+        counter.allRead(otherUser);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{USER_ID, 7L});
+        when(notificationRepository.countUnreadByUserIds(anyCollection())).thenReturn(rows);
+
+        int reconciled = counter.reconcile();
+
+        assertEquals(2, reconciled);
+        assertEquals(7L, counter.get(USER_ID));
+        assertEquals(0L, counter.get(otherUser));
+    }
+}
@@ -1,17 +1,27 @@
 package com.questgamification.service;
 
 import com.questgamification.domain.dto.UserRegistrationDto;
+import com.questgamification.domain.dto.UserView;
+import com.questgamification.domain.entity.AchievementType;
 import com.questgamification.domain.entity.Role;
 import com.questgamification.domain.entity.User;
+import com.questgamification.domain.entity.XpLedgerEntry;
+import com.questgamification.domain.entity.XpSource;
 import com.questgamification.repository.UserRepository;
+import com.questgamification.repository.XpLedgerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +37,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private AchievementService achievementService;
+
+    @Mock
+    private XpLedgerRepository xpLedgerRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private UserService userService;
 
@@ -77,5 +96,69 @@ class UserServiceTest {
             userService.registerUser(registrationDto);
         });
     }
-}
 
+    @Test
+    void testFindViewByUsername_SnapshotsUserWithoutAssociations() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("testuser");
+        user.setLevel(3);
+        user.setExperiencePoints(450L);
+        user.setRoles(new HashSet<>(Set.of(Role.USER)));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        UserView view = userService.findViewByUsername("testuser").orElseThrow();
+        user.getRoles().add(Role.ADMIN);
+
+        assertEquals(user.getId(), view.getId());
+        assertEquals(3, view.getLevel());
+        assertEquals(450L, view.getExperiencePoints());
+        assertEquals(Set.of(Role.USER), view.getRoles());
+        assertThrows(UnsupportedOperationException.class, () -> view.getRoles().add(Role.ADMIN));
+    }
+
+    @Test
+    void testAddExperience_DerivesLevelUpFromReturnedTotal() {
+        // The entity is stale: another device already brought the stored total to 350
+        User user = xpUser(100L, 1);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(50L), eq(user.getId()))).thenReturn(400L);
+        when(userRepository.save(user)).thenReturn(user);
+
+        userService.addExperience(user, 50L, XpSource.QUEST_CHECK_IN, null);
+
+        assertEquals(400L, user.getExperiencePoints());
+        assertEquals(3, user.getLevel());
+        verify(jdbcTemplate).update(anyString(), eq(3), eq(user.getId()), eq(3));
+        verify(achievementService).onMetricChanged(user, AchievementType.TOTAL_XP_EARNED, 350L, 400L);
+        verify(achievementService).onMetricChanged(user, AchievementType.LEVEL_REACHED, 2L, 3L);
+
+        ArgumentCaptor<XpLedgerEntry> entry = ArgumentCaptor.forClass(XpLedgerEntry.class);
+        verify(xpLedgerRepository).save(entry.capture());
+        assertEquals(50L, entry.getValue().getAmount());
+        assertEquals(400L, entry.getValue().getBalanceAfter());
+        assertEquals(XpSource.QUEST_CHECK_IN, entry.getValue().getSource());
+    }
+
+    @Test
+    void testAddExperience_WithoutLevelUpLeavesLevelAlone() {
+        User user = xpUser(100L, 2);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(20L), eq(user.getId()))).thenReturn(120L);
+        when(userRepository.save(user)).thenReturn(user);
+
+        userService.addExperience(user, 20L, XpSource.QUEST_CHECK_IN, null);
+
+        assertEquals(120L, user.getExperiencePoints());
+        assertEquals(2, user.getLevel());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verify(achievementService, never()).onMetricChanged(any(), eq(AchievementType.LEVEL_REACHED), anyLong(), anyLong());
+    }
+
+    private static User xpUser(long experiencePoints, int level) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("testuser");
+        user.setExperiencePoints(experiencePoints);
+        user.setLevel(level);
+        return user;
+    }
+}
@@ -0,0 +1,71 @@
+package com.questgamification.service;
+
+import com.questgamification.domain.entity.QuestStatus;
+import com.questgamification.domain.entity.UserStats;
+import com.questgamification.repository.UserStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsServiceTest {
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private UserStatsService userStatsService;
+
+    @Test
+    void testGetOrBuild_ReturnsExistingProjection() {
+        UUID userId = UUID.randomUUID();
+        UserStats stats = new UserStats();
+        when(userStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+
+        assertSame(stats, userStatsService.getOrBuild(userId));
+        verify(userStatsRepository, never()).rebuildForUser(any());
+    }
+
+    @Test
+    void testGetOrBuild_BuildsMissingProjection() {
+        UUID userId = UUID.randomUUID();
+        UserStats built = new UserStats();
+        built.setTotalQuests(4);
+        when(userStatsRepository.findById(userId)).thenReturn(Optional.empty()).thenReturn(Optional.of(built));
+
+        UserStats result = userStatsService.getOrBuild(userId);
+
+        assertEquals(4, result.getTotalQuests());
+        verify(userStatsRepository).rebuildForUser(userId);
+    }
+
+    @Test
+    void testQuestDeleted_DecrementsMatchingStatus() {
+        UUID userId = UUID.randomUUID();
+
+        userStatsService.questDeleted(userId, QuestStatus.COMPLETED);
+
+        verify(userStatsRepository).applyDelta(userId, -1, 0, -1, 0, 0, 0);
+    }
+
+    @Test
+    void testQuestsExpired_BatchesPerUser() {
+        Map<UUID, Integer> expired = Map.of(UUID.randomUUID(), 2, UUID.randomUUID(), 1);
+
+        userStatsService.questsExpired(expired);
+
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> args) -> args.size() == 2));
+    }
+}